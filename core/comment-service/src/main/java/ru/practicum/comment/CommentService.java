@@ -1,13 +1,17 @@
 package ru.practicum.comment;
 
+import interaction.client.EventMetadataClient;
+import interaction.client.UserExistenceClient;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
 @EnableFeignClients(basePackages = "interaction.client")
 @EnableDiscoveryClient
+@Import({EventMetadataClient.class, UserExistenceClient.class})
 public class CommentService {
     public static void main(String[] args) {
         SpringApplication.run(CommentService.class, args);
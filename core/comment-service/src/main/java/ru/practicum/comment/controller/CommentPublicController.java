@@ -4,6 +4,7 @@ import interaction.model.comment.CommentDto;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -13,6 +14,8 @@ import ru.practicum.comment.service.CommentService;
 
 import java.util.List;
 
+import static interaction.constants.Constants.REQUEST_PARAM_CURSOR;
+
 @RestController
 @RequiredArgsConstructor
 public class CommentPublicController {
@@ -20,23 +23,32 @@ public class CommentPublicController {
 
     @GetMapping("/events/{eventId}/comment")
     @ResponseStatus(HttpStatus.OK)
-    public List<CommentDto> getEventComments(
+    public ResponseEntity<List<CommentDto>> getEventComments(
             @PathVariable @Positive Integer eventId,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size) {
-        return commentService.getEventComments(eventId, from, size);
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(name = REQUEST_PARAM_CURSOR, required = false) String cursor) {
+        if (cursor != null) {
+            return commentService.getEventCommentsAfter(eventId, cursor, size).toResponseEntity();
+        }
+        return ResponseEntity.ok(commentService.getEventComments(eventId, from, size));
     }
 
     @GetMapping("/comment/search")
     @ResponseStatus(HttpStatus.OK)
-    public List<CommentDto> searchComments(
+    public ResponseEntity<List<CommentDto>> searchComments(
             @RequestParam(required = false) String content,
             @RequestParam(required = false) Integer userId,
             @RequestParam(required = false) Integer eventId,
             @RequestParam(required = false) String rangeStart,
             @RequestParam(required = false) String rangeEnd,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size) {
-        return commentService.getComments(content, userId, eventId, rangeStart, rangeEnd, from, size);
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(name = REQUEST_PARAM_CURSOR, required = false) String cursor) {
+        if (cursor != null) {
+            return commentService.getCommentsAfter(content, userId, eventId, rangeStart, rangeEnd, cursor, size)
+                    .toResponseEntity();
+        }
+        return ResponseEntity.ok(commentService.getComments(content, userId, eventId, rangeStart, rangeEnd, from, size));
     }
 }
@@ -39,4 +39,32 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
             @Param("rangeStart") LocalDateTime rangeStart,
             @Param("rangeEnd") LocalDateTime rangeEnd,
             Pageable pageable);
+
+    // Keyset-выборки: без COUNT(*), размер ограничивается через Pageable
+    List<Comment> findByEventIdOrderByCreatedDescIdDesc(Integer eventId, Pageable pageable);
+
+    @Query("SELECT c FROM Comment c WHERE c.eventId = :eventId AND " +
+            "(c.created < :created OR (c.created = :created AND c.id < :id)) " +
+            "ORDER BY c.created DESC, c.id DESC")
+    List<Comment> findByEventIdBefore(
+            @Param("eventId") Integer eventId,
+            @Param("created") LocalDateTime created,
+            @Param("id") Integer id,
+            Pageable pageable);
+
+    @Query("SELECT c FROM Comment c WHERE " +
+            "(:text IS NULL OR LOWER(c.text) LIKE LOWER(CONCAT('%', :text, '%'))) AND " +
+            "(:userId IS NULL OR c.userId = :userId) AND " +
+            "(:eventId IS NULL OR c.eventId = :eventId) AND " +
+            "c.created >= :rangeStart AND c.created <= :rangeEnd AND " +
+            "c.id > :afterId " +
+            "ORDER BY c.id")
+    List<Comment> getCommentsAfter(
+            @Param("text") String text,
+            @Param("userId") Integer userId,
+            @Param("eventId") Integer eventId,
+            @Param("rangeStart") LocalDateTime rangeStart,
+            @Param("rangeEnd") LocalDateTime rangeEnd,
+            @Param("afterId") Integer afterId,
+            Pageable pageable);
 }
@@ -4,6 +4,7 @@ package ru.practicum.comment.service;
 import interaction.model.comment.CommentDto;
 import interaction.model.comment.CommonCommentDto;
 import interaction.model.comment.DeleteCommentDto;
+import interaction.pagination.KeysetSlice;
 
 import java.util.List;
 
@@ -16,6 +17,8 @@ public interface CommentService {
 
     List<CommentDto> getEventComments(Integer eventId, Integer from, Integer size);
 
+    KeysetSlice<CommentDto> getEventCommentsAfter(Integer eventId, String cursor, Integer size);
+
     List<CommentDto> getCommentsByUserId(Integer userId);
 
     void deleteCommentByAdmin(DeleteCommentDto deleteCommentsDto);
@@ -26,4 +29,7 @@ public interface CommentService {
 
     List<CommentDto> getComments(String content, Integer userId, Integer eventId,
                                  String rangeStart, String rangeEnd, Integer from, Integer size);
+
+    KeysetSlice<CommentDto> getCommentsAfter(String content, Integer userId, Integer eventId,
+                                             String rangeStart, String rangeEnd, String cursor, Integer size);
 }
@@ -1,16 +1,17 @@
 package ru.practicum.comment.service;
 
-import interaction.client.EventFeignClient;
-import interaction.client.UserFeignClient;
+import interaction.client.EventMetadataClient;
+import interaction.client.UserExistenceClient;
 import interaction.exceptions.exception.BadRequestException;
 import interaction.exceptions.exception.ConflictException;
 import interaction.exceptions.exception.NotFoundException;
 import interaction.model.comment.CommentDto;
 import interaction.model.comment.CommonCommentDto;
 import interaction.model.comment.DeleteCommentDto;
-import interaction.model.event.dto.EventFullDto;
-import interaction.model.event.dto.EventShortDto;
-import interaction.model.user.UserShortDto;
+import interaction.model.event.dto.EventMetadataDto;
+import interaction.model.event.enums.EventState;
+import interaction.pagination.KeysetCursor;
+import interaction.pagination.KeysetSlice;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -30,10 +31,11 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class CommentServiceImpl implements CommentService {
+    private static final DateTimeFormatter RANGE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS");
 
     private final CommentRepository commentRepository;
-    private final UserFeignClient userFeignClient;
-    private final EventFeignClient eventFeignClient;
+    private final UserExistenceClient userExistenceClient;
+    private final EventMetadataClient eventMetadataClient;
     private final CommentMapper commentMapper;
 
     @Override
@@ -83,21 +85,8 @@ public class CommentServiceImpl implements CommentService {
             checkEventExists(eventId);
         }
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS");
-
-        LocalDateTime start;
-        if (rangeStart == null || rangeStart.isBlank()) {
-            start = LocalDateTime.of(1900, 1, 1, 0, 0); // Начало времен
-        } else {
-            start = LocalDateTime.parse(rangeStart, formatter);
-        }
-
-        LocalDateTime end;
-        if (rangeEnd == null || rangeEnd.isBlank()) {
-            end = LocalDateTime.now();
-        } else {
-            end = LocalDateTime.parse(rangeEnd, formatter);
-        }
+        LocalDateTime start = parseRangeStart(rangeStart);
+        LocalDateTime end = parseRangeEnd(rangeEnd);
 
         if (start.isAfter(end)) {
             throw new BadRequestException("Начало времени поиска не может быть позднее его окончания");
@@ -129,6 +118,55 @@ public class CommentServiceImpl implements CommentService {
         return commentMapper.commentsToDtos(commentPage.getContent());
     }
 
+    @Override
+    public KeysetSlice<CommentDto> getEventCommentsAfter(Integer eventId, String cursor, Integer size) {
+        checkEventExists(eventId);
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int safeSize = (size != null) ? Math.max(size, 1) : 10;
+        Pageable limit = PageRequest.ofSize(safeSize + 1);
+
+        List<Comment> rows = after == null
+                ? commentRepository.findByEventIdOrderByCreatedDescIdDesc(eventId, limit)
+                : commentRepository.findByEventIdBefore(eventId, after.getDateTimeKey(), after.getId(), limit);
+
+        return KeysetSlice.of(rows, safeSize,
+                comment -> KeysetCursor.of(comment.getCreated(), comment.getId()),
+                commentMapper::commentsToDtos);
+    }
+
+    @Override
+    public KeysetSlice<CommentDto> getCommentsAfter(String text, Integer userId, Integer eventId,
+                                                    String rangeStart, String rangeEnd, String cursor, Integer size) {
+        if (userId != null) {
+            checkUserExists(userId);
+        }
+
+        if (eventId != null) {
+            checkEventExists(eventId);
+        }
+
+        LocalDateTime start = parseRangeStart(rangeStart);
+        LocalDateTime end = parseRangeEnd(rangeEnd);
+
+        if (start.isAfter(end)) {
+            throw new BadRequestException("Начало времени поиска не может быть позднее его окончания");
+        }
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int safeSize = (size != null) ? Math.max(size, 1) : 100;
+
+        List<Comment> rows = commentRepository.getCommentsAfter(
+                text, userId, eventId, start, end,
+                after == null ? 0 : after.getId(),
+                PageRequest.ofSize(safeSize + 1)
+        );
+
+        return KeysetSlice.of(rows, safeSize,
+                comment -> KeysetCursor.of(comment.getId()),
+                commentMapper::commentsToDtos);
+    }
+
     @Override
     public List<CommentDto> getCommentsByUserId(Integer userId) {
         checkUserExists(userId);
@@ -176,24 +214,33 @@ public class CommentServiceImpl implements CommentService {
         deleteCommentByAdmin(dto);
     }
 
+    private LocalDateTime parseRangeStart(String rangeStart) {
+        if (rangeStart == null || rangeStart.isBlank()) {
+            return LocalDateTime.of(1900, 1, 1, 0, 0); // Начало времен
+        }
+        return LocalDateTime.parse(rangeStart, RANGE_FORMATTER);
+    }
+
+    private LocalDateTime parseRangeEnd(String rangeEnd) {
+        if (rangeEnd == null || rangeEnd.isBlank()) {
+            return LocalDateTime.now();
+        }
+        return LocalDateTime.parse(rangeEnd, RANGE_FORMATTER);
+    }
+
     private void checkUserExists(Integer userId) {
-        try {
-            UserShortDto userDto = userFeignClient.getById(userId);
-            if (userDto == null) {
-                throw new NotFoundException("Пользователь с id: " + userId + " не существует");
-            }
-        } catch (Exception e) {
+        if (!userExistenceClient.exists(userId)) {
             throw new NotFoundException("Пользователь с id: " + userId + " не существует");
         }
     }
 
     private boolean checkEventExistsAndPublished(Integer eventId) {
         try {
-            EventFullDto eventStatus = eventFeignClient.getEventStatus(eventId);
-            if (eventStatus == null) {
+            EventMetadataDto event = eventMetadataClient.get(eventId);
+            if (event == null) {
                 throw new NotFoundException("События с id: " + eventId + " не существует");
             }
-            return "PUBLISHED".equalsIgnoreCase(eventStatus.getState());
+            return event.getState() == EventState.PUBLISHED;
         } catch (Exception e) {
             throw new NotFoundException("События с id: " + eventId + " не существует");
         }
@@ -201,8 +248,8 @@ public class CommentServiceImpl implements CommentService {
 
     private void checkEventExists(Integer eventId) {
         try {
-            EventShortDto eventDto = eventFeignClient.getEventById(eventId);
-            if (eventDto == null) {
+            EventMetadataDto event = eventMetadataClient.get(eventId);
+            if (event == null || event.getState() != EventState.PUBLISHED) {
                 throw new NotFoundException("Событие с id=" + eventId + " не найдено");
             }
         } catch (Exception e) {
@@ -0,0 +1,15 @@
+-- Схема могла быть создана Hibernate (ddl-auto: update), поэтому объекты создаются через IF NOT EXISTS
+CREATE TABLE IF NOT EXISTS comments
+(
+    id       INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    text     VARCHAR(255) NOT NULL,
+    user_id  INTEGER      NOT NULL,
+    event_id INTEGER      NOT NULL,
+    created  TIMESTAMP(6) NOT NULL
+);
+
+-- Лента комментариев события: сортировка и keyset по (created, id) от новых к старым
+CREATE INDEX IF NOT EXISTS idx_comments_event_created ON comments (event_id, created DESC, id DESC);
+
+-- Комментарии пользователя, в том числе к конкретному событию
+CREATE INDEX IF NOT EXISTS idx_comments_user_event ON comments (user_id, event_id, created DESC);
@@ -1,13 +1,16 @@
 package ru.practicum;
 
+import interaction.client.UserExistenceClient;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
 @EnableFeignClients(basePackages = {"ru.practicum.client", "interaction.client"})
 @EnableDiscoveryClient
+@Import(UserExistenceClient.class)
 public class EventService {
     public static void main(String[] args) {
         SpringApplication.run(EventService.class, args);
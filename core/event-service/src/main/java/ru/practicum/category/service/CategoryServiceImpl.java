@@ -6,6 +6,9 @@ import interaction.exceptions.exception.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -16,6 +19,7 @@ import interaction.model.category.dto.NewCategoryDto;
 import ru.practicum.category.mapper.CategoryMapper;
 import ru.practicum.category.model.Category;
 import ru.practicum.category.storage.CategoryRepository;
+import ru.practicum.config.CacheConfig;
 import ru.practicum.events.repository.EventRepository;
 
 import java.util.List;
@@ -32,6 +36,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true)
     public CategoryDto add(NewCategoryDto newCategoryDto) {
 
         if (newCategoryDto.getName() == null) {
@@ -48,6 +53,11 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORY, key = "#categoryId"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true),
+            @CacheEvict(cacheNames = {CacheConfig.COMPILATION, CacheConfig.COMPILATIONS}, allEntries = true)
+    })
     public CategoryDto update(Integer categoryId, NewCategoryDto newCategoryDto) {
         Category oldCategory = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new NotFoundException("Категория с id = " + categoryId + " не найдена.", log));
@@ -63,6 +73,10 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORY, key = "#categoryId"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true)
+    })
     public void delete(Integer categoryId) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new NotFoundException("Category with id=" + categoryId + " was not found."));
@@ -77,6 +91,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES)
     public List<CategoryDto> getCategories(Integer from, Integer size) {
         // Проверка параметров
         if (from < 0) {
@@ -110,6 +125,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CATEGORY, key = "#catId")
     public CategoryDto getCategory(Integer catId) {
         Category category = categoryRepository.findById(catId)
                 .orElseThrow(() -> new NotFoundException("Category with id=" + catId + " was not found."));
@@ -0,0 +1,10 @@
+package ru.practicum.compilations.mapper;
+
+/**
+ * Связь подборки с событием из compilation_events без загрузки самих событий.
+ */
+public interface CompilationEventLink {
+    Integer getCompilationId();
+
+    Integer getEventId();
+}
@@ -1,25 +1,18 @@
 package ru.practicum.compilations.mapper;
 
 import interaction.model.event.dto.EventShortDto;
-import lombok.RequiredArgsConstructor;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import ru.practicum.compilations.dto.CompilationDto;
 import ru.practicum.compilations.dto.NewCompilationDto;
 import ru.practicum.compilations.dto.UpdateCompilationRequest;
 import ru.practicum.compilations.model.Compilation;
-import ru.practicum.events.mapper.EventMapper;
 import ru.practicum.events.model.Event;
 
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Component
-@RequiredArgsConstructor
 public class CompilationMapper {
-    @Lazy
-    private final EventMapper eventMapper;
 
     public Compilation toCompilation(NewCompilationDto dto, Set<Event> events) {
         return Compilation.builder()
@@ -29,16 +22,12 @@ public class CompilationMapper {
                 .build();
     }
 
-    public CompilationDto toCompilationDto(Compilation compilation) {
-        List<EventShortDto> eventDtos = compilation.getEvents().stream()
-                .map(eventMapper::toEventShortDto)
-                .collect(Collectors.toList());
-
+    public CompilationDto toCompilationDto(Compilation compilation, List<EventShortDto> events) {
         return CompilationDto.builder()
                 .id(compilation.getId())
                 .title(compilation.getTitle())
                 .pinned(compilation.getPinned())
-                .events(eventDtos)
+                .events(events)
                 .build();
     }
 
@@ -4,12 +4,18 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.compilations.mapper.CompilationEventLink;
 import ru.practicum.compilations.model.Compilation;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CompilationRepository extends JpaRepository<Compilation, Integer> {
 
     @Query("SELECT c FROM Compilation c WHERE c.pinned = :pinned")
     List<Compilation> findByPinned(@Param("pinned") Boolean pinned, Pageable pageable);
+
+    @Query("SELECT c.id AS compilationId, e.id AS eventId FROM Compilation c JOIN c.events e " +
+            "WHERE c.id IN :compilationIds")
+    List<CompilationEventLink> findEventLinks(@Param("compilationIds") Collection<Integer> compilationIds);
 }
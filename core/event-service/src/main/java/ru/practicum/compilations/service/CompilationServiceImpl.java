@@ -1,24 +1,34 @@
 package ru.practicum.compilations.service;
 
 import interaction.exceptions.exception.NotFoundException;
+import interaction.model.event.dto.EventShortDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.compilations.dto.CompilationDto;
 import ru.practicum.compilations.dto.NewCompilationDto;
 import ru.practicum.compilations.dto.UpdateCompilationRequest;
+import ru.practicum.compilations.mapper.CompilationEventLink;
 import ru.practicum.compilations.mapper.CompilationMapper;
 import ru.practicum.compilations.model.Compilation;
 import ru.practicum.compilations.params.PublicCompilationsParams;
 import ru.practicum.compilations.repository.CompilationRepository;
+import ru.practicum.config.CacheConfig;
 import ru.practicum.events.model.Event;
 import ru.practicum.events.repository.EventRepository;
+import ru.practicum.events.service.EventService;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,10 +39,12 @@ public class CompilationServiceImpl implements CompilationService {
     private final CompilationRepository compilationRepository;
     private final EventRepository eventRepository;
     private final CompilationMapper compilationMapper;
+    private final EventService eventService;
 
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.COMPILATIONS, key = "#params.pinned + ':' + #params.from + ':' + #params.size")
     public List<CompilationDto> findCompilations(PublicCompilationsParams params) {
         log.info("Поиск подборок событий: закрепленные={}, from={}, size={}",
                 params.getPinned(), params.getFrom(), params.getSize());
@@ -49,24 +61,24 @@ public class CompilationServiceImpl implements CompilationService {
             compilations = compilationRepository.findAll(pageRequest).getContent();
         }
 
-        return compilations.stream()
-                .map(compilationMapper::toCompilationDto)
-                .collect(Collectors.toList());
+        return toCompilationDtos(compilations);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.COMPILATION, key = "#compId")
     public CompilationDto findCompilationById(Integer compId) {
         log.info("Поиск подборки по ID: {}", compId);
 
         Compilation compilation = compilationRepository.findById(compId)
                 .orElseThrow(() -> new NotFoundException("Compilation with id=" + compId + " was not found"));
 
-        return compilationMapper.toCompilationDto(compilation);
+        return toCompilationDtos(List.of(compilation)).getFirst();
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.COMPILATIONS, allEntries = true)
     public CompilationDto addCompilation(NewCompilationDto dto) {
         log.info("Добавление новой подборки: {}", dto);
 
@@ -75,11 +87,15 @@ public class CompilationServiceImpl implements CompilationService {
         Compilation savedCompilation = compilationRepository.save(compilation);
 
         log.info("Подборка успешно добавлена id: {}", savedCompilation.getId());
-        return compilationMapper.toCompilationDto(savedCompilation);
+        return toCompilationDtos(List.of(savedCompilation)).getFirst();
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COMPILATION, key = "#compId"),
+            @CacheEvict(cacheNames = CacheConfig.COMPILATIONS, allEntries = true)
+    })
     public CompilationDto updateCompilation(Integer compId, UpdateCompilationRequest dto) {
         log.info("Обновление подборки: ID={}, новые данные={}", compId, dto);
 
@@ -95,11 +111,15 @@ public class CompilationServiceImpl implements CompilationService {
         Compilation updatedCompilation = compilationRepository.save(compilation);
 
         log.info("Подборка с ID {} успешно обновлена", compId);
-        return compilationMapper.toCompilationDto(updatedCompilation);
+        return toCompilationDtos(List.of(updatedCompilation)).getFirst();
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COMPILATION, key = "#compId"),
+            @CacheEvict(cacheNames = CacheConfig.COMPILATIONS, allEntries = true)
+    })
     public void removeCompilation(Integer compId) {
         log.info("Удаление подборки: ID={}", compId);
 
@@ -111,6 +131,41 @@ public class CompilationServiceImpl implements CompilationService {
         log.info("Подборка с ID {} успешно удалена", compId);
     }
 
+    /**
+     * Собирает DTO страницы подборок: связи подборка-событие одним запросом, события с категориями,
+     * рейтингами и подтверждёнными заявками один раз на объединение событий всех подборок.
+     */
+    private List<CompilationDto> toCompilationDtos(List<Compilation> compilations) {
+        if (compilations.isEmpty()) {
+            return List.of();
+        }
+
+        List<Integer> compilationIds = compilations.stream()
+                .map(Compilation::getId)
+                .toList();
+
+        Map<Integer, List<Integer>> eventIdsByCompilation = compilationRepository.findEventLinks(compilationIds)
+                .stream()
+                .collect(Collectors.groupingBy(CompilationEventLink::getCompilationId,
+                        Collectors.mapping(CompilationEventLink::getEventId, Collectors.toList())));
+
+        List<Integer> allEventIds = eventIdsByCompilation.values().stream()
+                .flatMap(List::stream)
+                .distinct()
+                .toList();
+
+        Map<Integer, EventShortDto> events = eventService.getByIds(allEventIds).stream()
+                .collect(Collectors.toMap(EventShortDto::getId, Function.identity()));
+
+        return compilations.stream()
+                .map(compilation -> compilationMapper.toCompilationDto(compilation,
+                        eventIdsByCompilation.getOrDefault(compilation.getId(), List.of()).stream()
+                                .map(events::get)
+                                .filter(Objects::nonNull)
+                                .toList()))
+                .collect(Collectors.toList());
+    }
+
     private Set<Event> getEventsFromIds(List<Integer> eventIds) {
         if (eventIds == null || eventIds.isEmpty()) {
             return Set.of();
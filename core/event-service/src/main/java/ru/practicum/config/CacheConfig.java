@@ -0,0 +1,41 @@
+package ru.practicum.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Кэши справочных данных публичного API. Статистика включена, чтобы actuator отдавал
+ * cache.gets{result=hit|miss} по каждому кэшу.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+    public static final String CATEGORY = "category";
+    public static final String CATEGORIES = "categories";
+    public static final String COMPILATION = "compilation";
+    public static final String COMPILATIONS = "compilations";
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(CATEGORY, build(properties.getCategories()));
+        cacheManager.registerCustomCache(CATEGORIES, build(properties.getCategories()));
+        cacheManager.registerCustomCache(COMPILATION, build(properties.getCompilations()));
+        cacheManager.registerCustomCache(COMPILATIONS, build(properties.getCompilations()));
+        return cacheManager;
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> build(CacheProperties.CacheSpec spec) {
+        return Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getExpireAfterWrite())
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ToString
+@ConfigurationProperties(prefix = "event-service.cache")
+public class CacheProperties {
+
+    private CacheSpec categories = new CacheSpec(1_000, Duration.ofHours(1));
+
+    // Подборки содержат рейтинг и число подтверждённых заявок событий, поэтому живут недолго
+    private CacheSpec compilations = new CacheSpec(500, Duration.ofMinutes(1));
+
+    @Getter
+    @Setter
+    @ToString
+    public static class CacheSpec {
+        private long maximumSize;
+        private Duration expireAfterWrite;
+
+        public CacheSpec() {
+        }
+
+        public CacheSpec(long maximumSize, Duration expireAfterWrite) {
+            this.maximumSize = maximumSize;
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+}
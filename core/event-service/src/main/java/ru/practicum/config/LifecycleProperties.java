@@ -0,0 +1,23 @@
+package ru.practicum.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ToString
+@ConfigurationProperties(prefix = "event-service.lifecycle")
+public class LifecycleProperties {
+
+    // Сколько прошедших событий отправляется за один проход
+    private int batchSize = 100;
+
+    private Duration publishInterval = Duration.ofMinutes(1);
+
+    // Аренда захваченных строк: если экземпляр упал до отметки об отправке, события подхватит другой
+    private Duration claimTimeout = Duration.ofMinutes(1);
+}
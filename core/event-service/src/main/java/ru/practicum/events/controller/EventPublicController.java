@@ -2,6 +2,7 @@ package ru.practicum.events.controller;
 
 import interaction.exceptions.exception.BadRequestException;
 import interaction.model.event.dto.EventFullDto;
+import interaction.model.event.dto.EventMetadataDto;
 import interaction.model.event.dto.EventShortDto;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.Positive;
@@ -59,6 +60,10 @@ public class EventPublicController {
             throw new BadRequestException("Неверный формат даты. Используйте: yyyy-MM-dd HH:mm:ss");
         }
 
+        if (params.getCursor() != null) {
+            return eventService.searchPublicEventsAfter(params).toResponseEntity();
+        }
+
         List<EventShortDto> events = eventService.searchPublicEvents(params, request);
         return ResponseEntity.ok(events);
     }
@@ -68,6 +73,11 @@ public class EventPublicController {
         return eventService.getEventFullDtoById(id);
     }
 
+    @GetMapping("/{id}/metadata")
+    public EventMetadataDto getEventMetadata(@PathVariable Integer id) {
+        return eventService.getEventMetadata(id);
+    }
+
     @GetMapping("/full-event-by-id")
     public EventFullDto getEventFullDtoById(@RequestParam Integer eventId) {
         log.info("Запрос от микросервиса request-service события с ID = {}", eventId);
@@ -22,6 +22,8 @@ import ru.practicum.events.service.EventService;
 
 import java.util.List;
 
+import static interaction.constants.Constants.REQUEST_PARAM_CURSOR;
+
 @RestController
 @RequestMapping("/admin/events")
 @RequiredArgsConstructor
@@ -38,7 +40,8 @@ public class EventsAdminController {
             @RequestParam(required = false) String rangeStart,
             @RequestParam(required = false) String rangeEnd,
             @RequestParam(defaultValue = "0") @Min(0) Integer from,
-            @RequestParam(defaultValue = "10") @Min(1) @Max(1000) Integer size) {
+            @RequestParam(defaultValue = "10") @Min(1) @Max(1000) Integer size,
+            @RequestParam(name = REQUEST_PARAM_CURSOR, required = false) String cursor) {
 
         AdminEventParams params = AdminEventParams.builder()
                 .users(users)
@@ -48,8 +51,13 @@ public class EventsAdminController {
                 .rangeEnd(rangeEnd)
                 .from(from)
                 .size(size)
+                .cursor(cursor)
                 .build();
 
+        if (cursor != null) {
+            return eventService.searchAfter(params).toResponseEntity();
+        }
+
         List<EventFullDto> events = eventService.search(params);
         return ResponseEntity.ok(events);
     }
@@ -7,6 +7,7 @@ import interaction.model.event.dto.NewEventDto;
 import interaction.model.event.dto.UpdateEventUserRequest;
 import interaction.model.request.EventRequestStatusUpdateResult;
 import interaction.model.request.ParticipationRequestDto;
+import interaction.model.request.RequestStatus;
 import interaction.model.request.RequestStatusUpdateRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
@@ -31,11 +32,13 @@ import java.util.Collection;
 import java.util.List;
 
 import static interaction.constants.Constants.DEFAULT_VALUE_0;
+import static interaction.constants.Constants.DEFAULT_VALUE_REQUESTS_PAGE_SIZE;
 import static interaction.constants.Constants.DEFAULT_VALUE_REQUEST_PARAM_SIZE;
 import static interaction.constants.Constants.PATH_VARIABLE_EVENT_ID;
 import static interaction.constants.Constants.PATH_VARIABLE_USER_ID;
 import static interaction.constants.Constants.REQUEST_PARAM_FROM;
 import static interaction.constants.Constants.REQUEST_PARAM_SIZE;
+import static interaction.constants.Constants.REQUEST_PARAM_STATUS;
 
 
 @Slf4j
@@ -112,8 +115,11 @@ public class EventsPrivateController {
     @ResponseStatus(HttpStatus.OK)
     public List<ParticipationRequestDto> getEventRequests(
             @PathVariable @Positive Integer userId,
-            @PathVariable @Positive Integer eventId) {
+            @PathVariable @Positive Integer eventId,
+            @RequestParam(name = REQUEST_PARAM_STATUS, required = false) RequestStatus status,
+            @RequestParam(name = REQUEST_PARAM_FROM, defaultValue = DEFAULT_VALUE_0) @PositiveOrZero Integer from,
+            @RequestParam(name = REQUEST_PARAM_SIZE, defaultValue = DEFAULT_VALUE_REQUESTS_PAGE_SIZE) @Positive Integer size) {
 
-        return eventService.getRequestsByEvent(userId, eventId);
+        return eventService.getRequestsByEvent(userId, eventId, status, from, size);
     }
 }
@@ -0,0 +1,11 @@
+package ru.practicum.events.mapper;
+
+import java.time.LocalDateTime;
+
+public interface EventLifecycleView {
+    Integer getId();
+
+    String getState();
+
+    LocalDateTime getEventDate();
+}
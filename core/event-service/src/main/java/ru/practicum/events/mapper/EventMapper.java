@@ -1,5 +1,6 @@
 package ru.practicum.events.mapper;
 
+import interaction.client.UserExistenceClient;
 import interaction.model.event.dto.EventFullDto;
 import interaction.model.event.dto.EventShortDto;
 import interaction.model.event.dto.Location;
@@ -8,6 +9,7 @@ import interaction.model.event.dto.UpdateEventAdminRequest;
 import interaction.model.event.dto.UpdateEventUserRequest;
 import interaction.model.event.enums.EventState;
 import interaction.model.user.UserShortDto;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import interaction.model.category.dto.CategoryDto;
 import ru.practicum.category.model.Category;
@@ -15,9 +17,16 @@ import ru.practicum.events.model.Event;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 @Component
+@RequiredArgsConstructor
 public class EventMapper {
+    private final UserExistenceClient userExistenceClient;
 
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
@@ -91,6 +100,34 @@ public class EventMapper {
         return dto;
     }
 
+    public EventShortDto toEventShortDto(EventShortView view) {
+        if (view == null) {
+            return null;
+        }
+
+        EventShortDto dto = new EventShortDto();
+        dto.setId(view.getId());
+        dto.setAnnotation(view.getAnnotation());
+
+        CategoryDto categoryDto = new CategoryDto();
+        categoryDto.setId(view.getCategoryId());
+        categoryDto.setName(view.getCategoryName());
+        dto.setCategory(categoryDto);
+
+        dto.setConfirmedRequests(view.getConfirmedRequests() != null ? view.getConfirmedRequests() : 0);
+        dto.setEventDate(view.getEventDate().format(formatter));
+        UserShortDto userShortDto = new UserShortDto();
+        userShortDto.setId(view.getInitiatorId());
+        userShortDto.setName(String.valueOf(view.getInitiatorId()));
+        dto.setInitiator(userShortDto);
+
+        dto.setPaid(view.getPaid());
+        dto.setTitle(view.getTitle());
+        dto.setRating(0.0);
+
+        return dto;
+    }
+
     public Event toEventForUpdate(Integer userId, Integer eventId, UpdateEventUserRequest request) {
         if (request == null) return null;
 
@@ -164,4 +201,45 @@ public class EventMapper {
         return event;
     }
 
+    public EventFullDto withInitiator(EventFullDto dto) {
+        withFullInitiators(List.of(dto));
+        return dto;
+    }
+
+    public EventShortDto withInitiator(EventShortDto dto) {
+        withShortInitiators(List.of(dto));
+        return dto;
+    }
+
+    public List<EventFullDto> withFullInitiators(List<EventFullDto> dtos) {
+        fillInitiators(dtos, EventFullDto::getInitiator, EventFullDto::setInitiator);
+        return dtos;
+    }
+
+    public List<EventShortDto> withShortInitiators(List<EventShortDto> dtos) {
+        fillInitiators(dtos, EventShortDto::getInitiator, EventShortDto::setInitiator);
+        return dtos;
+    }
+
+    // Инициаторы всей страницы одним запросом к user-service; если пользователь недоступен, остаётся id
+    private <T> void fillInitiators(List<T> dtos, Function<T, UserShortDto> getter, BiConsumer<T, UserShortDto> setter) {
+        List<Integer> initiatorIds = dtos.stream()
+                .map(getter)
+                .filter(Objects::nonNull)
+                .map(UserShortDto::getId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (initiatorIds.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, UserShortDto> users = userExistenceClient.getByIds(initiatorIds);
+        for (T dto : dtos) {
+            UserShortDto initiator = getter.apply(dto);
+            if (initiator != null && users.containsKey(initiator.getId())) {
+                setter.accept(dto, users.get(initiator.getId()));
+            }
+        }
+    }
 }
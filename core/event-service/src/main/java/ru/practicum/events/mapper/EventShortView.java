@@ -0,0 +1,23 @@
+package ru.practicum.events.mapper;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция события для EventShortDto: без description и с уже подтянутой категорией.
+ */
+@Getter
+@AllArgsConstructor
+public class EventShortView {
+    private Integer id;
+    private String annotation;
+    private Integer categoryId;
+    private String categoryName;
+    private Integer confirmedRequests;
+    private LocalDateTime eventDate;
+    private Integer initiatorId;
+    private Boolean paid;
+    private String title;
+}
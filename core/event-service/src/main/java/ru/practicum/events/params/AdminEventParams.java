@@ -26,4 +26,6 @@ public class AdminEventParams {
     @Min(1)
     @Max(1000)
     private Integer size = 10;
+
+    private String cursor;
 }
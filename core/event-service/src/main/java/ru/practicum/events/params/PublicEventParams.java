@@ -30,4 +30,6 @@ public class PublicEventParams {
     @Min(1)
     @Max(1000)
     private Integer size = 10;
+
+    private String cursor;
 }
\ No newline at end of file
@@ -1,28 +1,62 @@
 package ru.practicum.events.repository;
 
+import interaction.model.event.dto.EventMetadataDto;
+import interaction.model.event.enums.EventState;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.category.model.Category;
+import ru.practicum.events.mapper.EventLifecycleView;
+import ru.practicum.events.mapper.EventShortView;
 import ru.practicum.events.model.Event;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
-public interface EventRepository extends JpaRepository<Event, Integer>, JpaSpecificationExecutor<Event> {
+public interface EventRepository extends JpaRepository<Event, Integer>, JpaSpecificationExecutor<Event>,
+        EventShortQueries {
+    String SHORT_VIEW = "SELECT new ru.practicum.events.mapper.EventShortView(e.id, e.annotation, c.id, c.name, " +
+            "e.confirmedRequests, e.eventDate, e.initiatorId, e.paid, e.title) FROM Event e JOIN e.category c ";
 
     @Query("SELECT e FROM Event e WHERE e.id IN :eventIds")
     Set<Event> findAllById(@Param("eventIds") List<Integer> eventIds);
 
-    // Сохраняем старое имя, но используем правильное поле
-    @Query("SELECT e FROM Event e WHERE e.initiatorId = ?1 ORDER BY e.id ASC")
-    List<Event> findByInitiatorOrderByIdAsc(Integer userId);
+    // Полные DTO всегда читают категорию, поэтому подтягиваем её сразу
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Optional<Event> findById(Integer id);
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Page<Event> findAll(Specification<Event> spec, Pageable pageable);
+
+    // Страница событий инициатора без description, категория подтягивается тем же запросом
+    @Query(SHORT_VIEW + "WHERE e.initiatorId = :userId ORDER BY e.id ASC")
+    List<EventShortView> findShortByInitiator(@Param("userId") Integer userId, Pageable pageable);
+
+    @Query(SHORT_VIEW + "WHERE e.id IN :eventIds")
+    List<EventShortView> findShortByIdIn(@Param("eventIds") Collection<Integer> eventIds);
+
+    @Query(SHORT_VIEW + "WHERE e.id IN :eventIds AND e.state = :state")
+    List<EventShortView> findShortByIdInAndState(@Param("eventIds") Collection<Integer> eventIds,
+                                                 @Param("state") EventState state);
+
+    @Query("SELECT new interaction.model.event.dto.EventMetadataDto(e.id, e.state, e.initiatorId, " +
+            "e.participantLimit, e.requestModeration) FROM Event e WHERE e.id = :eventId")
+    Optional<EventMetadataDto> findMetadataById(@Param("eventId") Integer eventId);
 
     // Сохраняем старое имя
-    @Query("SELECT e FROM Event e WHERE e.initiatorId = ?1 AND e.id = ?2")
+    @Query("SELECT e FROM Event e JOIN FETCH e.category WHERE e.initiatorId = ?1 AND e.id = ?2")
     Optional<Event> findByInitiatorAndId(Integer userId, Integer eventId);
 
     Collection<Event> findByCategory(Category category);
@@ -30,4 +64,28 @@ public interface EventRepository extends JpaRepository<Event, Integer>, JpaSpeci
     Integer countByCategoryId(Integer categoryId);
 
     List<Event> findAllByIdIn(List<Integer> ids);
+
+    // Захватывает прошедшие события, о которых ещё не сообщили статистике, на время claimedUntil и сразу
+    // фиксирует захват; SKIP LOCKED и аренда разводят экземпляры сервиса. Отмена обратима (CANCELED -> PENDING),
+    // поэтому отменённое событие сообщается только после своей даты, когда изменить его уже нельзя
+    @Transactional
+    @Query(value = "UPDATE events SET lifecycle_claimed_until = :claimedUntil WHERE id IN (" +
+            "SELECT e.id FROM events e WHERE e.lifecycle_reported_at IS NULL AND e.event_date < :now " +
+            "AND (e.lifecycle_claimed_until IS NULL OR e.lifecycle_claimed_until < :now) " +
+            "ORDER BY e.id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id AS \"id\", state AS \"state\", event_date AS \"eventDate\"", nativeQuery = true)
+    List<EventLifecycleView> claimLifecycleDue(@Param("now") LocalDateTime now,
+                                               @Param("claimedUntil") LocalDateTime claimedUntil,
+                                               @Param("limit") int limit);
+
+    // Неотправленные события снова доступны следующему проходу, не дожидаясь окончания аренды
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE events SET lifecycle_claimed_until = NULL WHERE id IN (:eventIds)", nativeQuery = true)
+    int releaseLifecycleClaim(@Param("eventIds") Collection<Integer> eventIds);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE events SET lifecycle_reported_at = :now WHERE id IN (:eventIds)", nativeQuery = true)
+    int markLifecycleReported(@Param("eventIds") Collection<Integer> eventIds, @Param("now") LocalDateTime now);
 }
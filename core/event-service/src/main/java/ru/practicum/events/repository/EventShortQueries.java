@@ -0,0 +1,17 @@
+package ru.practicum.events.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.events.mapper.EventShortView;
+import ru.practicum.events.model.Event;
+
+import java.util.List;
+
+public interface EventShortQueries {
+
+    /**
+     * Выборка коротких представлений по спецификации одним запросом: категория join-ом, без description.
+     * Общее количество записей не считается.
+     */
+    List<EventShortView> findShortBy(Specification<Event> spec, Pageable pageable);
+}
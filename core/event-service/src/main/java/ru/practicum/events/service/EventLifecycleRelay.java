@@ -0,0 +1,31 @@
+package ru.practicum.events.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.config.LifecycleProperties;
+
+/**
+ * Периодически сообщает статистике о прошедших (в том числе отменённых) событиях, чтобы агрегатор
+ * и анализатор вытеснили их состояние. Пока пачки приходят полными, очередь разбирается без паузы.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventLifecycleRelay {
+    private final EventLifecycleService eventLifecycleService;
+    private final LifecycleProperties properties;
+
+    @Scheduled(fixedDelayString = "${event-service.lifecycle.publish-interval:1m}")
+    public void relay() {
+        try {
+            int processed;
+            do {
+                processed = eventLifecycleService.publishDue();
+            } while (processed == properties.getBatchSize());
+        } catch (Exception e) {
+            log.error("Ошибка отправки жизненного цикла событий", e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.events.service;
+
+public interface EventLifecycleService {
+
+    /**
+     * Сообщает статистике о прошедших событиях, в том числе отменённых, возвращает количество отправленных.
+     */
+    int publishDue();
+}
@@ -0,0 +1,67 @@
+package ru.practicum.events.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import ru.practicum.client.CollectorClient;
+import ru.practicum.config.LifecycleProperties;
+import ru.practicum.events.mapper.EventLifecycleView;
+import ru.practicum.events.repository.EventRepository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventLifecycleServiceImpl implements EventLifecycleService {
+    private final EventRepository eventRepository;
+    private final CollectorClient collectorClient;
+    private final LifecycleProperties properties;
+
+    /**
+     * Строки захватываются и освобождаются короткими транзакциями; вызовы коллектора идут вне транзакции,
+     * чтобы зависший коллектор не держал блокировки строк и соединение из пула.
+     */
+    @Override
+    public int publishDue() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EventLifecycleView> batch = eventRepository.claimLifecycleDue(now,
+                now.plus(properties.getClaimTimeout()), properties.getBatchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Integer> reported = new ArrayList<>(batch.size());
+        try {
+            for (EventLifecycleView event : batch) {
+                Instant at = event.getEventDate().atZone(ZoneId.systemDefault()).toInstant();
+                if ("CANCELED".equals(event.getState())) {
+                    collectorClient.saveEventCanceled(event.getId(), at);
+                } else {
+                    collectorClient.saveEventFinished(event.getId(), at);
+                }
+                reported.add(event.getId());
+            }
+        } catch (Exception e) {
+            // Неотправленные события вернутся в выборку; вытеснение в статистике идемпотентно
+            log.warn("Не удалось отправить жизненный цикл событий в коллектор: {}", e.getMessage());
+        }
+
+        if (!reported.isEmpty()) {
+            eventRepository.markLifecycleReported(reported, LocalDateTime.now());
+            log.debug("Отправлено в коллектор {} прошедших событий", reported.size());
+        }
+        if (reported.size() < batch.size()) {
+            eventRepository.releaseLifecycleClaim(batch.stream()
+                    .map(EventLifecycleView::getId)
+                    .filter(id -> !reported.contains(id))
+                    .toList());
+            return 0;
+        }
+        return reported.size();
+    }
+}
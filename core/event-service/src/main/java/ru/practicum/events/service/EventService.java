@@ -1,13 +1,16 @@
 package ru.practicum.events.service;
 
 import interaction.model.event.dto.EventFullDto;
+import interaction.model.event.dto.EventMetadataDto;
 import interaction.model.event.dto.EventShortDto;
 import interaction.model.event.dto.NewEventDto;
 import interaction.model.event.dto.UpdateEventAdminRequest;
 import interaction.model.event.dto.UpdateEventUserRequest;
 import interaction.model.request.EventRequestStatusUpdateResult;
 import interaction.model.request.ParticipationRequestDto;
+import interaction.model.request.RequestStatus;
 import interaction.model.request.RequestStatusUpdateRequest;
+import interaction.pagination.KeysetSlice;
 import jakarta.servlet.http.HttpServletRequest;
 import ru.practicum.events.params.AdminEventParams;
 import ru.practicum.events.params.PublicEventParams;
@@ -17,6 +20,8 @@ import java.util.List;
 public interface EventService {
     List<EventFullDto> search(AdminEventParams params);
 
+    KeysetSlice<EventFullDto> searchAfter(AdminEventParams params);
+
     EventFullDto updateEventByAdmin(Integer eventId, UpdateEventAdminRequest dto);
 
     public EventFullDto add(Integer userId, NewEventDto newEventDto);
@@ -27,18 +32,23 @@ public interface EventService {
 
     List<EventShortDto> searchPublicEvents(PublicEventParams params, HttpServletRequest request);
 
+    KeysetSlice<EventShortDto> searchPublicEventsAfter(PublicEventParams params);
+
     EventRequestStatusUpdateResult changeRequestsStatus(Integer userId, Integer eventId, RequestStatusUpdateRequest updateRequest);
 
     List<EventShortDto> findAllByUser(Integer userId, int from, int size);
 
     EventFullDto findByUserAndEvent(Integer userId, Integer eventId);
 
-    List<ParticipationRequestDto> getRequestsByEvent(Integer userId, Integer eventId);
+    List<ParticipationRequestDto> getRequestsByEvent(Integer userId, Integer eventId,
+                                                     RequestStatus status, Integer from, Integer size);
 
     EventFullDto getEventFullDtoById(Integer eventId);
 
     EventShortDto getEventShortDtoById(Integer eventId);
 
+    EventMetadataDto getEventMetadata(Integer eventId);
+
     List<EventShortDto> getByIds(List<Integer> eventIds);
 
     Boolean existsById(Integer eventId);
@@ -1,12 +1,13 @@
 package ru.practicum.events.service;
 
 import interaction.client.RequestFeignClient;
-import interaction.client.UserFeignClient;
+import interaction.client.UserExistenceClient;
 import interaction.exceptions.exception.ConflictException;
 import interaction.exceptions.exception.DuplicatedDataException;
 import interaction.exceptions.exception.NotFoundException;
 import interaction.exceptions.exception.ValidationException;
 import interaction.model.event.dto.EventFullDto;
+import interaction.model.event.dto.EventMetadataDto;
 import interaction.model.event.dto.EventShortDto;
 import interaction.model.event.dto.NewEventDto;
 import interaction.model.event.dto.UpdateEventAdminRequest;
@@ -15,15 +16,19 @@ import interaction.model.event.enums.EventState;
 import interaction.model.event.enums.EventStateAction;
 import interaction.model.request.EventRequestStatusUpdateResult;
 import interaction.model.request.ParticipationRequestDto;
+import interaction.model.request.RequestModerationRequest;
 import interaction.model.request.RequestStatus;
 import interaction.model.request.RequestStatusUpdateRequest;
-import interaction.model.user.UserShortDto;
+import interaction.pagination.KeysetCursor;
+import interaction.pagination.KeysetSlice;
+import interaction.pagination.OffsetPageRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
@@ -34,6 +39,7 @@ import ru.practicum.category.storage.CategoryRepository;
 import ru.practicum.client.CollectorClient;
 import ru.practicum.client.RecommendationClient;
 import ru.practicum.events.mapper.EventMapper;
+import ru.practicum.events.mapper.EventShortView;
 import ru.practicum.events.model.Event;
 import ru.practicum.events.params.AdminEventParams;
 import ru.practicum.events.params.PublicEventParams;
@@ -49,7 +55,6 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -63,32 +68,53 @@ public class EventServiceImpl implements EventService {
     private final RecommendationClient recommendationClient;
     private final CollectorClient collectorClient;
     private final RequestFeignClient requestClient;
-    private final UserFeignClient userFeignClient;
+    private final UserExistenceClient userExistenceClient;
+    private final ObjectMapper objectMapper;
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     @Override
     public List<EventFullDto> search(AdminEventParams params) {
         validatePaginationParams(params);
-        Pageable pageable = PageRequest.of(params.getFrom() / params.getSize(), params.getSize());
+        Pageable pageable = OffsetPageRequest.of(params.getFrom(), params.getSize(), Sort.by("id"));
 
         Specification<Event> spec = buildAdminSpecification(params);
         Page<Event> events = eventRepository.findAll(spec, pageable);
 
-        List<Integer> eventIds = events.getContent().stream()
+        return toEventFullDtos(events.getContent());
+    }
+
+    @Override
+    public KeysetSlice<EventFullDto> searchAfter(AdminEventParams params) {
+        validatePaginationParams(params);
+        KeysetCursor cursor = KeysetCursor.decode(params.getCursor());
+        int size = params.getSize();
+
+        Specification<Event> spec = buildAdminSpecification(params).and(idAfter(cursor));
+        List<Event> rows = eventRepository.findBy(spec, query -> query
+                .project("category")
+                .sortBy(Sort.by("id"))
+                .limit(size + 1)
+                .all());
+
+        return KeysetSlice.of(rows, size, event -> KeysetCursor.of(event.getId()), this::toEventFullDtos);
+    }
+
+    private List<EventFullDto> toEventFullDtos(List<Event> events) {
+        List<Integer> eventIds = events.stream()
                 .map(Event::getId)
                 .collect(Collectors.toList());
 
         Map<Integer, Integer> confirmedRequestsMap = getConfirmedRequestsForEvents(eventIds);
         Map<Integer, Double> ratingsMap = getRatingsForEvents(eventIds);
 
-        return events.getContent().stream()
+        return eventMapper.withFullInitiators(events.stream()
                 .map(event -> {
                     EventFullDto dto = eventMapper.toEventFullDto(event);
                     dto.setConfirmedRequests(confirmedRequestsMap.getOrDefault(event.getId(), 0));
                     dto.setRating(ratingsMap.getOrDefault(event.getId(), 0.0));
                     return dto;
                 })
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     private Map<Integer, Integer> getConfirmedRequestsForEvents(List<Integer> eventIds) {
@@ -96,17 +122,17 @@ public class EventServiceImpl implements EventService {
             return Collections.emptyMap();
         }
 
+        // Один запрос на всю страницу; события, которых нет в ответе, считаются без подтверждённых заявок
         Map<Integer, Integer> confirmedMap = new HashMap<>();
-
-        for (Integer eventId : eventIds) {
-            try {
-                Integer confirmed = requestClient.getConfirmedRequestsCount(eventId);
-                confirmedMap.put(eventId, confirmed != null ? confirmed : 0);
-            } catch (Exception e) {
-                log.warn("Failed to get confirmed requests for event {}: {}", eventId, e.getMessage());
-                confirmedMap.put(eventId, 0);
+        try {
+            Map<Integer, Integer> counts = requestClient.getConfirmedRequestsBatch(eventIds);
+            if (counts != null) {
+                confirmedMap.putAll(counts);
             }
+        } catch (Exception e) {
+            log.warn("Failed to get confirmed requests for events {}: {}", eventIds, e.getMessage());
         }
+        eventIds.forEach(eventId -> confirmedMap.putIfAbsent(eventId, 0));
 
         return confirmedMap;
     }
@@ -127,7 +153,7 @@ public class EventServiceImpl implements EventService {
         handleStateAction(event, dto.getStateAction());
 
         Event updatedEvent = eventRepository.save(event);
-        return eventMapper.toEventFullDto(updatedEvent);
+        return eventMapper.withInitiator(eventMapper.toEventFullDto(updatedEvent));
     }
 
     @Override
@@ -164,16 +190,53 @@ public class EventServiceImpl implements EventService {
         dto.setConfirmedRequests(confirmed);
         dto.setRating(rating);
 
-        return dto;
+        return eventMapper.withInitiator(dto);
     }
 
     @Override
     public List<EventShortDto> searchPublicEvents(PublicEventParams params, HttpServletRequest request) {
+        validatePublicPaginationParams(params);
+
+        Specification<Event> spec = buildPublicSpecification(params);
+
+        int from = params.getFrom() == null ? 0 : params.getFrom();
+        int size = params.getSize() == null ? 10 : params.getSize();
+        // Порядок тот же, что в keyset-варианте: без уникального ключа смещение даёт повторы на границах
+        Sort sort = "VIEWS".equalsIgnoreCase(params.getSort()) ? Sort.by("id") : Sort.by("eventDate", "id");
+        Pageable pageable = OffsetPageRequest.of(from, size, sort);
+
+        List<EventShortView> events = eventRepository.findShortBy(spec, pageable);
+
+        return toEventShortDtos(events, params.getSort());
+    }
+
+    @Override
+    public KeysetSlice<EventShortDto> searchPublicEventsAfter(PublicEventParams params) {
+        validatePublicPaginationParams(params);
+        KeysetCursor cursor = KeysetCursor.decode(params.getCursor());
+        int size = params.getSize() == null ? 10 : params.getSize();
+        boolean byEventDate = !"VIEWS".equalsIgnoreCase(params.getSort());
+
+        Specification<Event> spec = buildPublicSpecification(params)
+                .and(byEventDate ? eventDateAfter(cursor) : idAfter(cursor));
+        Sort sort = byEventDate ? Sort.by("eventDate", "id") : Sort.by("id");
+        List<EventShortView> rows = eventRepository.findShortBy(spec, OffsetPageRequest.of(0, size + 1, sort));
+
+        return KeysetSlice.of(rows, size,
+                event -> byEventDate
+                        ? KeysetCursor.of(event.getEventDate(), event.getId())
+                        : KeysetCursor.of(event.getId()),
+                events -> toEventShortDtos(events, params.getSort()));
+    }
+
+    private void validatePublicPaginationParams(PublicEventParams params) {
         if (params.getFrom() != null && params.getFrom() < 0) throw new ValidationException("from must be >= 0");
         if (params.getSize() != null && (params.getSize() <= 0 || params.getSize() > 1000))
             throw new ValidationException("size must be between 1 and 1000");
+    }
 
-        Specification<Event> spec = (root, query, cb) -> {
+    private Specification<Event> buildPublicSpecification(PublicEventParams params) {
+        return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
             predicates.add(cb.equal(root.get("state"), EventState.PUBLISHED));
 
@@ -209,24 +272,11 @@ public class EventServiceImpl implements EventService {
             }
             return cb.and(predicates.toArray(new Predicate[0]));
         };
+    }
 
-        int from = params.getFrom() == null ? 0 : params.getFrom();
-        int size = params.getSize() == null ? 10 : params.getSize();
-        Pageable pageable;
-        if ("VIEWS".equalsIgnoreCase(params.getSort())) {
-            pageable = PageRequest.of(from / size, size);
-        } else {
-            pageable = PageRequest.of(from / size, size, Sort.by("eventDate").ascending());
-        }
-
-        Page<Event> page = eventRepository.findAll(spec, pageable);
-        List<Event> events = page.getContent();
-
-        Map<Integer, Double> ratingsMap = getRatingsForEvents(events.stream()
-                .map(Event::getId)
-                .collect(Collectors.toList()));
-
-        List<Integer> ids = events.stream().map(Event::getId).collect(Collectors.toList());
+    private List<EventShortDto> toEventShortDtos(List<EventShortView> events, String sort) {
+        List<Integer> ids = events.stream().map(EventShortView::getId).collect(Collectors.toList());
+        Map<Integer, Double> ratingsMap = getRatingsForEvents(ids);
         Map<Integer, Integer> confirmedMap = getConfirmedRequestsForEvents(ids);
 
         List<EventShortDto> dtos = events.stream().map(e -> {
@@ -235,8 +285,9 @@ public class EventServiceImpl implements EventService {
             s.setConfirmedRequests(confirmedMap.getOrDefault(e.getId(), 0));
             return s;
         }).collect(Collectors.toList());
+        eventMapper.withShortInitiators(dtos);
 
-        if ("VIEWS".equalsIgnoreCase(params.getSort())) {
+        if ("VIEWS".equalsIgnoreCase(sort)) {
             dtos.sort(Comparator.comparing(EventShortDto::getRating,
                     Comparator.nullsLast(Comparator.reverseOrder())));
         }
@@ -244,9 +295,28 @@ public class EventServiceImpl implements EventService {
         return dtos;
     }
 
+    // Keyset-условия: строки строго после курсора в порядке (id) или (eventDate, id)
+    private Specification<Event> idAfter(KeysetCursor cursor) {
+        return (root, query, cb) -> cursor == null ? null : cb.greaterThan(root.get("id"), cursor.getId());
+    }
+
+    private Specification<Event> eventDateAfter(KeysetCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return null;
+            }
+            LocalDateTime key = cursor.getDateTimeKey();
+            return cb.or(
+                    cb.greaterThan(root.get("eventDate"), key),
+                    cb.and(cb.equal(root.get("eventDate"), key), cb.greaterThan(root.get("id"), cursor.getId()))
+            );
+        };
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public List<ParticipationRequestDto> getRequestsByEvent(Integer userId, Integer eventId) {
+    public List<ParticipationRequestDto> getRequestsByEvent(Integer userId, Integer eventId,
+                                                            RequestStatus status, Integer from, Integer size) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new NotFoundException("Event with id=" + eventId + " was not found."));
 
@@ -257,7 +327,7 @@ public class EventServiceImpl implements EventService {
 
         List<ParticipationRequestDto> requests;
         try {
-            requests = requestClient.getRequestsByEventId(eventId);
+            requests = requestClient.getRequestsByEventId(eventId, status, from, size);
         } catch (Exception e) {
             log.warn("Failed to get requests via Feign for event {}: {}", eventId, e.getMessage());
             throw new RuntimeException("Failed to fetch requests: " + e.getMessage());
@@ -332,142 +402,33 @@ public class EventServiceImpl implements EventService {
             throw new ValidationException("Invalid target status");
         }
 
-        List<ParticipationRequestDto> requestDtos;
-        try {
-            requestDtos = requestClient.getRequestsByIds(updateRequest.getRequestIds());
-        } catch (Exception e) {
-            log.warn("Failed to get requests via Feign: {}", e.getMessage());
-            throw new NotFoundException("Failed to fetch requests: " + e.getMessage());
-        }
+        RequestModerationRequest moderationRequest = RequestModerationRequest.builder()
+                .requestIds(updateRequest.getRequestIds())
+                .status(targetStatus)
+                .participantLimit(event.getParticipantLimit() != null ? event.getParticipantLimit() : 0)
+                .requestModeration(!Boolean.FALSE.equals(event.getRequestModeration()))
+                .build();
 
-        if (requestDtos.size() != updateRequest.getRequestIds().size()) {
+        // Проверка заявок, подсчёт мест и смена статусов выполняются в request-service одной транзакцией
+        try {
+            return requestClient.moderateRequests(eventId, moderationRequest);
+        } catch (FeignException.NotFound e) {
             throw new NotFoundException("One or more requests not found");
+        } catch (FeignException.Conflict e) {
+            throw new ConflictException(extractMessage(e, "Failed to update request statuses"));
+        } catch (FeignException e) {
+            log.error("Failed to update request statuses via Feign: {}", e.getMessage());
+            throw new ConflictException("Failed to update request statuses");
         }
+    }
 
-        for (ParticipationRequestDto req : requestDtos) {
-            if (!req.getEvent().equals(eventId)) {
-                throw new ConflictException("Request id=" + req.getId() + " does not belong to event id=" + eventId);
-            }
-        }
-
-        List<ParticipationRequestDto> nonPending = requestDtos.stream()
-                .filter(r -> r.getStatus() == null || !r.getStatus().equalsIgnoreCase("PENDING"))
-                .collect(Collectors.toList());
-        if (!nonPending.isEmpty()) {
-            throw new ConflictException("Only requests with status PENDING can be changed");
-        }
-
-        if (event.getParticipantLimit() == 0 || Boolean.FALSE.equals(event.getRequestModeration())) {
-            List<ParticipationRequestDto> confirmed = new ArrayList<>();
-            for (ParticipationRequestDto req : requestDtos) {
-                req.setStatus(RequestStatus.CONFIRMED.name());
-                confirmed.add(req);
-            }
-
-            try {
-                RequestStatusUpdateRequest batchRequest = new RequestStatusUpdateRequest();
-                batchRequest.setRequestIds(updateRequest.getRequestIds());
-                batchRequest.setStatus(RequestStatus.CONFIRMED);
-                requestClient.updateRequestsStatusBatch(batchRequest);
-            } catch (Exception e) {
-                log.error("Failed to update request statuses via Feign: {}", e.getMessage());
-                throw new ConflictException("Failed to update request statuses");
-            }
-
-            return EventRequestStatusUpdateResult.builder()
-                    .confirmedRequests(confirmed)
-                    .rejectedRequests(Collections.emptyList())
-                    .build();
-        }
-
-        if (targetStatus == RequestStatus.CONFIRMED) {
-            long confirmedCountNow = 0;
-            try {
-                Integer count = requestClient.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED);
-                confirmedCountNow = count != null ? count.longValue() : 0L;
-            } catch (Exception e) {
-                log.warn("Failed to get confirmed count via Feign: {}", e.getMessage());
-            }
-
-            int participantLimit = event.getParticipantLimit() != null ? event.getParticipantLimit() : 0;
-
-            int freeLimit = (int) Math.min(
-                    participantLimit - confirmedCountNow,
-                    updateRequest.getRequestIds().size()
-            );
-
-            if (freeLimit <= 0) {
-                throw new ConflictException("The participant limit has been reached");
-            }
-
-            List<Integer> confirmedIds = updateRequest.getRequestIds().subList(0, freeLimit);
-            List<Integer> rejectedIds = updateRequest.getRequestIds().subList(freeLimit, updateRequest.getRequestIds().size());
-
-            List<ParticipationRequestDto> confirmed = new ArrayList<>();
-            List<ParticipationRequestDto> rejected = new ArrayList<>();
-
-            for (ParticipationRequestDto req : requestDtos) {
-                if (confirmedIds.contains(req.getId())) {
-                    req.setStatus(RequestStatus.CONFIRMED.name());
-                    confirmed.add(req);
-                } else {
-                    req.setStatus(RequestStatus.REJECTED.name());
-                    rejected.add(req);
-                }
-            }
-
-            try {
-                if (!confirmedIds.isEmpty()) {
-                    RequestStatusUpdateRequest confirmRequest = new RequestStatusUpdateRequest();
-                    confirmRequest.setRequestIds(confirmedIds);
-                    confirmRequest.setStatus(RequestStatus.CONFIRMED);
-                    requestClient.updateRequestsStatusBatch(confirmRequest);
-                }
-
-                if (!rejectedIds.isEmpty()) {
-                    RequestStatusUpdateRequest rejectRequest = new RequestStatusUpdateRequest();
-                    rejectRequest.setRequestIds(rejectedIds);
-                    rejectRequest.setStatus(RequestStatus.REJECTED);
-                    requestClient.updateRequestsStatusBatch(rejectRequest);
-                }
-            } catch (Exception e) {
-                log.error("Failed to update request statuses via Feign: {}", e.getMessage());
-                throw new ConflictException("Failed to update request statuses");
-            }
-
-            return EventRequestStatusUpdateResult.builder()
-                    .confirmedRequests(confirmed)
-                    .rejectedRequests(rejected)
-                    .build();
-
-        } else if (targetStatus == RequestStatus.REJECTED) {
-            List<ParticipationRequestDto> rejected = new ArrayList<>();
-
-            for (ParticipationRequestDto req : requestDtos) {
-                req.setStatus(RequestStatus.REJECTED.name());
-                rejected.add(req);
-            }
-
-            try {
-                RequestStatusUpdateRequest batchRequest = new RequestStatusUpdateRequest();
-                batchRequest.setRequestIds(updateRequest.getRequestIds());
-                batchRequest.setStatus(RequestStatus.REJECTED);
-                requestClient.updateRequestsStatusBatch(batchRequest);
-            } catch (Exception e) {
-                log.error("Failed to update request statuses via Feign: {}", e.getMessage());
-                throw new ConflictException("Failed to update request statuses");
-            }
-
-            return EventRequestStatusUpdateResult.builder()
-                    .confirmedRequests(Collections.emptyList())
-                    .rejectedRequests(rejected)
-                    .build();
+    // Сообщение из ApiError ответа request-service, чтобы инициатор видел исходную причину конфликта
+    private String extractMessage(FeignException e, String defaultMessage) {
+        try {
+            return objectMapper.readTree(e.contentUTF8()).path("message").asText(defaultMessage);
+        } catch (Exception parseError) {
+            return defaultMessage;
         }
-
-        return EventRequestStatusUpdateResult.builder()
-                .confirmedRequests(Collections.emptyList())
-                .rejectedRequests(Collections.emptyList())
-                .build();
     }
 
     private void updateEventFields(Event event, UpdateEventAdminRequest dto) {
@@ -611,15 +572,7 @@ public class EventServiceImpl implements EventService {
         Category category = categoryRepository.findById(newEventDto.getCategoryId())
                 .orElseThrow(() -> new NotFoundException("Категория с id = " + newEventDto.getCategoryId() + " не найдена.", log));
 
-        try {
-            UserShortDto userDto = userFeignClient.getById(userId);
-            if (userDto == null) {
-                throw new NotFoundException("Пользователь с id = " + userId + " не найден.", log);
-            }
-        } catch (Exception e) {
-            log.warn("Failed to get user via Feign: {}", e.getMessage());
-            throw new NotFoundException("Пользователь с id = " + userId + " не найден.", log);
-        }
+        checkUserExists(userId);
 
         if (newEventDto.getDescription() == null || newEventDto.getDescription().trim().isEmpty()) {
             throw new ValidationException("Description cannot be null or empty");
@@ -659,20 +612,12 @@ public class EventServiceImpl implements EventService {
 
         log.info("Добавлено новое событие {}.", event);
 
-        return eventMapper.toEventFullDto(event);
+        return eventMapper.withInitiator(eventMapper.toEventFullDto(event));
     }
 
     @Override
     public EventFullDto update(Integer userId, Integer eventId, UpdateEventUserRequest updateEventUserRequest) {
-        try {
-            UserShortDto userDto = userFeignClient.getById(userId);
-            if (userDto == null) {
-                throw new NotFoundException("Пользователь с id = " + userId + " не найден.", log);
-            }
-        } catch (Exception e) {
-            log.warn("Failed to get user via Feign: {}", e.getMessage());
-            throw new NotFoundException("Пользователь с id = " + userId + " не найден.", log);
-        }
+        checkUserExists(userId);
 
         Event oldEvent = eventRepository.findById(eventId)
                 .orElseThrow(() -> new NotFoundException("Событие с id = " + eventId + " не найдено.", log));
@@ -738,58 +683,32 @@ public class EventServiceImpl implements EventService {
 
         log.info("Пользователем обновлены данные события {}.", oldEvent);
 
-        return eventMapper.toEventFullDto(oldEvent);
+        return eventMapper.withInitiator(eventMapper.toEventFullDto(oldEvent));
     }
 
     @Override
     public List<EventShortDto> findAllByUser(Integer userId, int from, int size) {
-        try {
-            UserShortDto userDto = userFeignClient.getById(userId);
-            if (userDto == null) {
-                throw new NotFoundException("Пользователь с id = " + userId + " не найден.", log);
-            }
-        } catch (Exception e) {
-            log.warn("Failed to get user via Feign: {}", e.getMessage());
-            throw new NotFoundException("Пользователь с id = " + userId + " не найден.", log);
-        }
-
-        List<Event> eventListAll = eventRepository.findByInitiatorOrderByIdAsc(userId);
-
-        int toIndex = from + size;
-        if (toIndex > eventListAll.size() - 1) toIndex = eventListAll.size();
-
-        if (from > toIndex) {
-            from = 0;
-            toIndex = 0;
-        }
+        checkUserExists(userId);
 
-        List<Event> eventList = new ArrayList<Event>(eventListAll.subList(from, toIndex));
+        List<EventShortView> eventList = eventRepository.findShortByInitiator(userId, OffsetPageRequest.of(from, size));
 
         log.info("Получен список событий пользователя с id {} и параметрами: from = {}, size = {}.", userId, from, size);
 
-        return eventList.stream()
+        return eventMapper.withShortInitiators(eventList.stream()
                 .map(eventMapper::toEventShortDto)
-                .toList();
+                .toList());
     }
 
     @Override
     public EventFullDto findByUserAndEvent(Integer userId, Integer eventId) {
-        try {
-            UserShortDto userDto = userFeignClient.getById(userId);
-            if (userDto == null) {
-                throw new NotFoundException("Пользователь с id = " + userId + " не найден.", log);
-            }
-        } catch (Exception e) {
-            log.warn("Failed to get user via Feign: {}", e.getMessage());
-            throw new NotFoundException("Пользователь с id = " + userId + " не найден.", log);
-        }
+        checkUserExists(userId);
 
         Event event = eventRepository.findByInitiatorAndId(userId, eventId)
                 .orElseThrow(() -> new NotFoundException("Event with id=" + eventId + " was not found", log));
 
         log.info("Получены данные по событию c id = {} у пользователя с id = {}.", eventId, userId);
 
-        return eventMapper.toEventFullDto(event);
+        return eventMapper.withInitiator(eventMapper.toEventFullDto(event));
     }
 
     @Override
@@ -806,7 +725,7 @@ public class EventServiceImpl implements EventService {
         dto.setConfirmedRequests(confirmedRequests != null ? confirmedRequests : 0);
         dto.setRating(rating);
 
-        return dto;
+        return eventMapper.withInitiator(dto);
     }
 
     @Override
@@ -823,7 +742,13 @@ public class EventServiceImpl implements EventService {
         dto.setConfirmedRequests(confirmedRequests != null ? confirmedRequests : 0);
         dto.setRating(rating);
 
-        return dto;
+        return eventMapper.withInitiator(dto);
+    }
+
+    @Override
+    public EventMetadataDto getEventMetadata(Integer eventId) {
+        return eventRepository.findMetadataById(eventId)
+                .orElseThrow(() -> new NotFoundException("Event with id=" + eventId + " not found"));
     }
 
     @Override
@@ -834,19 +759,19 @@ public class EventServiceImpl implements EventService {
             return Collections.emptyList();
         }
 
-        Set<Event> events = eventRepository.findAllById(eventIds);
+        List<EventShortView> events = eventRepository.findShortByIdIn(eventIds);
 
         Map<Integer, Double> ratingsMap = getRatingsForEvents(eventIds);
         Map<Integer, Integer> confirmedMap = getConfirmedRequestsForEvents(eventIds);
 
-        return events.stream()
+        return eventMapper.withShortInitiators(events.stream()
                 .map(event -> {
                     EventShortDto dto = eventMapper.toEventShortDto(event);
                     dto.setConfirmedRequests(confirmedMap.getOrDefault(event.getId(), 0));
                     dto.setRating(ratingsMap.getOrDefault(event.getId(), 0.0));
                     return dto;
                 })
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     @Override
@@ -861,6 +786,12 @@ public class EventServiceImpl implements EventService {
         return event.getState().name();
     }
 
+    private void checkUserExists(Integer userId) {
+        if (!userExistenceClient.exists(userId)) {
+            throw new NotFoundException("Пользователь с id = " + userId + " не найден.", log);
+        }
+    }
+
     @Override
     public List<EventShortDto> getRecommendations(Integer userId, Integer from, Integer size) {
         log.info("Getting recommendations for user {} from {} size {}", userId, from, size);
@@ -884,17 +815,18 @@ public class EventServiceImpl implements EventService {
                     .map(proto -> (int) proto.getEventId())
                     .collect(Collectors.toList());
 
-            Map<Integer, Event> eventMap = eventRepository.findAllById(eventIds).stream()
-                    .collect(Collectors.toMap(Event::getId, Function.identity()));
+            Map<Integer, EventShortView> eventMap = eventRepository
+                    .findShortByIdInAndState(eventIds, EventState.PUBLISHED).stream()
+                    .collect(Collectors.toMap(EventShortView::getId, Function.identity()));
 
             Map<Integer, Integer> confirmedMap = getConfirmedRequestsForEvents(eventIds);
 
             List<EventShortDto> result = new ArrayList<>();
             for (RecommendedEventProto recommendation : recommendations) {
                 Integer eventId = (int) recommendation.getEventId();
-                Event event = eventMap.get(eventId);
+                EventShortView event = eventMap.get(eventId);
 
-                if (event != null && event.getState() == EventState.PUBLISHED) {
+                if (event != null) {
                     EventShortDto dto = eventMapper.toEventShortDto(event);
                     dto.setRating(recommendation.getScore());
                     dto.setConfirmedRequests(confirmedMap.getOrDefault(eventId, 0));
@@ -902,7 +834,7 @@ public class EventServiceImpl implements EventService {
                 }
             }
 
-            return result;
+            return eventMapper.withShortInitiators(result);
 
         } catch (Exception e) {
             log.error("Failed to get recommendations for user {}: {}", userId, e.getMessage());
@@ -0,0 +1,40 @@
+-- Схема могла быть создана Hibernate (ddl-auto: update), поэтому объекты создаются через IF NOT EXISTS
+CREATE TABLE IF NOT EXISTS categories
+(
+    id   INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(50) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS events
+(
+    id                 INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    annotation         VARCHAR(2000) NOT NULL,
+    category_id        INTEGER       NOT NULL REFERENCES categories (id),
+    confirmed_requests INTEGER,
+    created_on         TIMESTAMP(6),
+    description        VARCHAR(7000) NOT NULL,
+    event_date         TIMESTAMP(6)  NOT NULL,
+    initiator_id       INTEGER       NOT NULL,
+    location_lat       REAL,
+    location_lon       REAL,
+    paid               BOOLEAN       NOT NULL,
+    participant_limit  INTEGER,
+    published_on       TIMESTAMP(6),
+    request_moderation BOOLEAN,
+    state              VARCHAR(255)  NOT NULL,
+    title              VARCHAR(120)  NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS compilations
+(
+    id     INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title  VARCHAR(50) NOT NULL,
+    pinned BOOLEAN     NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS compilation_events
+(
+    compilation_id INTEGER NOT NULL REFERENCES compilations (id),
+    event_id       INTEGER NOT NULL REFERENCES events (id),
+    PRIMARY KEY (compilation_id, event_id)
+);
@@ -0,0 +1,13 @@
+-- Публичный поиск: state = PUBLISHED, диапазон event_date, keyset по (event_date, id)
+CREATE INDEX IF NOT EXISTS idx_events_state_event_date ON events (state, event_date, id);
+
+-- События инициатора постранично по id
+CREATE INDEX IF NOT EXISTS idx_events_initiator ON events (initiator_id, id);
+
+-- Фильтр по категориям и проверка, что категория не используется, перед удалением
+CREATE INDEX IF NOT EXISTS idx_events_category ON events (category_id);
+
+-- Первичный ключ покрывает поиск по compilation_id; обратный поиск подборок события идёт по этому индексу
+CREATE INDEX IF NOT EXISTS idx_compilation_events_event ON compilation_events (event_id);
+
+CREATE INDEX IF NOT EXISTS idx_compilations_pinned ON compilations (pinned, id);
@@ -0,0 +1,5 @@
+-- Когда статистике сообщили, что событие прошло или отменено; NULL — ещё не сообщали
+ALTER TABLE events ADD COLUMN IF NOT EXISTS lifecycle_reported_at TIMESTAMP(6);
+
+-- Неотправленные события по дате; отменённые находятся по idx_events_state_event_date
+CREATE INDEX IF NOT EXISTS idx_events_lifecycle_pending ON events (event_date) WHERE lifecycle_reported_at IS NULL;
@@ -0,0 +1,3 @@
+-- Аренда строки отправителем жизненного цикла: до этого момента событие не выбирается другими экземплярами.
+-- Строки захватываются короткой транзакцией, а отправка в коллектор идёт вне её
+ALTER TABLE events ADD COLUMN IF NOT EXISTS lifecycle_claimed_until TIMESTAMP(6);
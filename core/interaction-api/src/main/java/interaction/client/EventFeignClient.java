@@ -1,6 +1,7 @@
 package interaction.client;
 
 import interaction.model.event.dto.EventFullDto;
+import interaction.model.event.dto.EventMetadataDto;
 import interaction.model.event.dto.EventShortDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,6 +16,9 @@ public interface EventFeignClient {
     @GetMapping("/{id}/status")
     EventFullDto getEventStatus(@PathVariable("id") Integer eventId);
 
+    @GetMapping("/{id}/metadata")
+    EventMetadataDto getEventMetadata(@PathVariable("id") Integer eventId);
+
     @GetMapping("/{id}")
     EventShortDto getEventById(@PathVariable("id") Integer eventId);
 
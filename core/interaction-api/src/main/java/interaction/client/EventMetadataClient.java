@@ -0,0 +1,61 @@
+package interaction.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import interaction.model.event.dto.EventMetadataDto;
+import interaction.model.event.enums.EventState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Near-cache метаданных событий поверх EventFeignClient.
+ * Кэшируются только опубликованные события: из PUBLISHED событие уже не переходит в другое состояние,
+ * а остальные состояния читаются заново при каждом обращении, поэтому смена состояния видна сразу.
+ * Лимит участников и модерация опубликованного события могут отставать не более чем на TTL,
+ * поэтому места резервируются по {@link #getFresh}. Других способов сбросить запись нет:
+ * изменения событий сервисам не рассылаются, действует только TTL.
+ */
+@Component
+public class EventMetadataClient {
+    private final EventFeignClient eventFeignClient;
+    private final Cache<Integer, EventMetadataDto> cache;
+
+    public EventMetadataClient(EventFeignClient eventFeignClient,
+                               @Value("${interaction.event-metadata.cache.ttl:30s}") Duration ttl,
+                               @Value("${interaction.event-metadata.cache.maximum-size:10000}") long maximumSize) {
+        this.eventFeignClient = eventFeignClient;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public EventMetadataDto get(Integer eventId) {
+        EventMetadataDto cached = cache.getIfPresent(eventId);
+        if (cached != null) {
+            return cached;
+        }
+
+        EventMetadataDto metadata = eventFeignClient.getEventMetadata(eventId);
+        if (metadata != null && metadata.getState() == EventState.PUBLISHED) {
+            cache.put(eventId, metadata);
+        }
+        return metadata;
+    }
+
+    /**
+     * Читает метаданные мимо кэша и обновляет его. Для резервирования мест: лимит из кэша
+     * может быть выше уже сниженного администратором.
+     */
+    public EventMetadataDto getFresh(Integer eventId) {
+        EventMetadataDto metadata = eventFeignClient.getEventMetadata(eventId);
+        if (metadata != null && metadata.getState() == EventState.PUBLISHED) {
+            cache.put(eventId, metadata);
+        } else {
+            cache.invalidate(eventId);
+        }
+        return metadata;
+    }
+}
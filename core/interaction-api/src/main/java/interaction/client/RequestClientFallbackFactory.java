@@ -1,6 +1,9 @@
 package interaction.client;
 
+import interaction.exceptions.exception.ConflictException;
+import interaction.model.request.EventRequestStatusUpdateResult;
 import interaction.model.request.ParticipationRequestDto;
+import interaction.model.request.RequestModerationRequest;
 import interaction.model.request.RequestStatus;
 import interaction.model.request.RequestStatusUpdateRequest;
 import org.springframework.cloud.openfeign.FallbackFactory;
@@ -29,7 +32,8 @@ public class RequestClientFallbackFactory implements FallbackFactory<RequestFeig
             }
 
             @Override
-            public List<ParticipationRequestDto> getRequestsByEventId(Integer eventId) {
+            public List<ParticipationRequestDto> getRequestsByEventId(Integer eventId, RequestStatus status,
+                                                              Integer from, Integer size) {
                 return Collections.emptyList();
             }
 
@@ -48,6 +52,13 @@ public class RequestClientFallbackFactory implements FallbackFactory<RequestFeig
                 return Collections.emptyList();
             }
 
+            @Override
+            public EventRequestStatusUpdateResult moderateRequests(Integer eventId,
+                                                                   RequestModerationRequest moderationRequest) {
+                // Молча подтверждать или отклонять нельзя: инициатор должен увидеть ошибку
+                throw new ConflictException("Failed to update request statuses");
+            }
+
             @Override
             public List<ParticipationRequestDto> getRequestsByUserId(Integer userId) {
                 return List.of();
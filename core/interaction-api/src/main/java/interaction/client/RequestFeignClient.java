@@ -1,7 +1,9 @@
 package interaction.client;
 
 
+import interaction.model.request.EventRequestStatusUpdateResult;
 import interaction.model.request.ParticipationRequestDto;
+import interaction.model.request.RequestModerationRequest;
 import interaction.model.request.RequestStatus;
 import interaction.model.request.RequestStatusUpdateRequest;
 import org.springframework.cloud.openfeign.FeignClient;
@@ -24,7 +26,10 @@ public interface RequestFeignClient {
     Map<Integer, Integer> getConfirmedRequestsBatch(@RequestParam("eventIds") List<Integer> eventIds);
 
     @GetMapping("/requests/events/{eventId}")
-    List<ParticipationRequestDto> getRequestsByEventId(@PathVariable("eventId") Integer eventId);
+    List<ParticipationRequestDto> getRequestsByEventId(@PathVariable("eventId") Integer eventId,
+                                                       @RequestParam(value = "status", required = false) RequestStatus status,
+                                                       @RequestParam("from") Integer from,
+                                                       @RequestParam("size") Integer size);
 
     @PostMapping("/requests/batch")
     List<ParticipationRequestDto> getRequestsByIds(@RequestBody List<Integer> requestIds);
@@ -37,6 +42,10 @@ public interface RequestFeignClient {
     List<ParticipationRequestDto> updateRequestsStatusBatch(
             @RequestBody RequestStatusUpdateRequest batchRequest);
 
+    @PostMapping("/requests/events/{eventId}/moderation")
+    EventRequestStatusUpdateResult moderateRequests(@PathVariable("eventId") Integer eventId,
+                                                    @RequestBody RequestModerationRequest moderationRequest);
+
     @GetMapping("/users/{userId}")
     List<ParticipationRequestDto> getRequestsByUserId(@PathVariable Integer userId);
 }
@@ -0,0 +1,123 @@
+package interaction.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.FeignException;
+import interaction.model.user.UserShortDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Кэш пользователей поверх UserFeignClient для проверки существования и обогащения списков.
+ * Данные для обогащения хранятся дольше: имя удалённого пользователя в выдаче безвредно.
+ * Подтверждённое существование живёт existence-ttl — на столько после удаления пользователя
+ * другие сервисы ещё принимают его id. Удаление пользователя сервисам не рассылается
+ * (события жизненного цикла идут только в статистику), поэтому записи сбрасываются только по TTL.
+ * Отсутствующие хранятся коротко, чтобы только что созданный пользователь быстро становился виден.
+ * Ошибки связи с user-service не кэшируются.
+ */
+@Slf4j
+@Component
+public class UserExistenceClient {
+    private final UserFeignClient userFeignClient;
+    private final Cache<Integer, UserShortDto> users;
+    private final Cache<Integer, Boolean> existing;
+    private final Cache<Integer, Boolean> missing;
+
+    public UserExistenceClient(UserFeignClient userFeignClient,
+                               @Value("${interaction.users.cache.ttl:5m}") Duration ttl,
+                               @Value("${interaction.users.cache.existence-ttl:30s}") Duration existenceTtl,
+                               @Value("${interaction.users.cache.negative-ttl:10s}") Duration negativeTtl,
+                               @Value("${interaction.users.cache.maximum-size:50000}") long maximumSize) {
+        this.userFeignClient = userFeignClient;
+        this.users = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+        this.existing = Caffeine.newBuilder()
+                .expireAfterWrite(existenceTtl)
+                .maximumSize(maximumSize)
+                .build();
+        this.missing = Caffeine.newBuilder()
+                .expireAfterWrite(negativeTtl)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public boolean exists(Integer userId) {
+        if (userId == null) {
+            return false;
+        }
+        if (existing.getIfPresent(userId) != null) {
+            return true;
+        }
+        if (missing.getIfPresent(userId) != null) {
+            return false;
+        }
+
+        try {
+            UserShortDto user = userFeignClient.getById(userId);
+            if (user == null) {
+                return false;
+            }
+            users.put(userId, user);
+            existing.put(userId, Boolean.TRUE);
+            return true;
+        } catch (FeignException.NotFound e) {
+            missing.put(userId, Boolean.TRUE);
+            return false;
+        } catch (Exception e) {
+            log.warn("Failed to get user {} via Feign: {}", userId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Пользователи по id одним запросом за отсутствующими в кэше. Несуществующие id в ответ не попадают;
+     * при недоступности user-service возвращается то, что уже есть в кэше.
+     */
+    public Map<Integer, UserShortDto> getByIds(Collection<Integer> userIds) {
+        Map<Integer, UserShortDto> result = new HashMap<>();
+        List<Integer> toLoad = new ArrayList<>();
+
+        for (Integer userId : new LinkedHashSet<>(userIds)) {
+            if (userId == null) {
+                continue;
+            }
+            UserShortDto cached = users.getIfPresent(userId);
+            if (cached != null) {
+                result.put(userId, cached);
+            } else if (missing.getIfPresent(userId) == null) {
+                toLoad.add(userId);
+            }
+        }
+
+        if (toLoad.isEmpty()) {
+            return result;
+        }
+
+        try {
+            Set<Integer> notFound = new LinkedHashSet<>(toLoad);
+            for (UserShortDto user : userFeignClient.getByIds(toLoad)) {
+                users.put(user.getId(), user);
+                result.put(user.getId(), user);
+                notFound.remove(user.getId());
+            }
+            notFound.forEach(userId -> missing.put(userId, Boolean.TRUE));
+        } catch (Exception e) {
+            log.warn("Failed to get users {} via Feign: {}", toLoad, e.getMessage());
+        }
+
+        return result;
+    }
+}
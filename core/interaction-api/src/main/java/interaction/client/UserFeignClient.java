@@ -15,5 +15,5 @@ public interface UserFeignClient {
     UserShortDto getById(@PathVariable("id") Integer id);
 
     @GetMapping("/by-ids")
-    List<UserShortDto> getByIds(@RequestParam List<Integer> userIds);
+    List<UserShortDto> getByIds(@RequestParam("userIds") List<Integer> userIds);
 }
@@ -23,4 +23,9 @@ public final class Constants {
     public static final String DEFAULT_VALUE_0 = "0";
     public static final String REQUEST_PARAM_SIZE = "size";
     public static final String DEFAULT_VALUE_REQUEST_PARAM_SIZE = "10";
+    // Списки заявок исторически отдавались целиком, поэтому страница по умолчанию крупная
+    public static final String DEFAULT_VALUE_REQUESTS_PAGE_SIZE = "1000";
+    public static final String REQUEST_PARAM_STATUS = "status";
+    public static final String REQUEST_PARAM_CURSOR = "cursor";
+    public static final String HEADER_NEXT_CURSOR = "X-Next-Cursor";
 }
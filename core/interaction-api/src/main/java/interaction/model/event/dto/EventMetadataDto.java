@@ -0,0 +1,20 @@
+package interaction.model.event.dto;
+
+import interaction.model.event.enums.EventState;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Минимум данных о событии для проверок в других сервисах: без рейтинга и подсчёта заявок.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventMetadataDto {
+    private Integer id;
+    private EventState state;
+    private Integer initiatorId;
+    private Integer participantLimit;
+    private Boolean requestModeration;
+}
@@ -0,0 +1,35 @@
+package interaction.model.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Модерация заявок события инициатором: параметры события передаются вместе с заявками,
+ * чтобы request-service провёл проверку и смену статусов в одной транзакции.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RequestModerationRequest {
+    @NotEmpty
+    private List<@Positive Integer> requestIds;
+
+    @NotNull
+    private RequestStatus status;
+
+    @NotNull
+    @PositiveOrZero
+    private Integer participantLimit;
+
+    @NotNull
+    private Boolean requestModeration;
+}
@@ -13,4 +13,5 @@ public class AdminUserParam {
     private Integer from = 0;
     @Positive
     private Integer size = 10;
+    private String cursor;
 }
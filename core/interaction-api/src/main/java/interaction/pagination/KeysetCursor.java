@@ -0,0 +1,68 @@
+package interaction.pagination;
+
+import interaction.exceptions.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Непрозрачный курсор keyset-пагинации: значение ключа сортировки и id последней записи страницы.
+ * Клиент получает его в заголовке ответа и передаёт обратно как есть.
+ */
+public final class KeysetCursor {
+    private static final String SEPARATOR = "|";
+
+    private final String key;
+    private final Integer id;
+
+    private KeysetCursor(String key, Integer id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    public static KeysetCursor of(Integer id) {
+        return new KeysetCursor("", id);
+    }
+
+    public static KeysetCursor of(LocalDateTime key, Integer id) {
+        return new KeysetCursor(key.toString(), id);
+    }
+
+    /**
+     * Возвращает null для пустого курсора (первая страница).
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(SEPARATOR);
+            if (idx < 0) {
+                throw new ValidationException("Invalid cursor: " + token);
+            }
+            return new KeysetCursor(raw.substring(0, idx), Integer.valueOf(raw.substring(idx + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public LocalDateTime getDateTimeKey() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor key: " + key);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package interaction.pagination;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static interaction.constants.Constants.HEADER_NEXT_CURSOR;
+
+/**
+ * Страница keyset-выборки без подсчёта общего количества записей.
+ * nextCursor равен null, если следующей страницы нет.
+ */
+public record KeysetSlice<T>(List<T> content, String nextCursor) {
+
+    /**
+     * Собирает срез из выборки размером size + 1: лишняя запись говорит только о наличии продолжения.
+     */
+    public static <E, T> KeysetSlice<T> of(List<E> rows, int size,
+                                           Function<E, KeysetCursor> cursorOf,
+                                           Function<List<E>, List<T>> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        String next = hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        return new KeysetSlice<>(mapper.apply(page), next);
+    }
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (nextCursor != null) {
+            builder.header(HEADER_NEXT_CURSOR, nextCursor);
+        }
+        return builder.body(content);
+    }
+}
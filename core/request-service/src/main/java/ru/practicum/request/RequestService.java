@@ -1,9 +1,12 @@
 package ru.practicum.request;
 
+import interaction.client.EventMetadataClient;
+import interaction.client.UserExistenceClient;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication(scanBasePackages = {
         "ru.practicum.request",
@@ -11,6 +14,7 @@ import org.springframework.cloud.openfeign.EnableFeignClients;
 })
 @EnableFeignClients(basePackages = {"ru.practicum.client", "interaction.client"})
 @EnableDiscoveryClient
+@Import({EventMetadataClient.class, UserExistenceClient.class})
 public class RequestService {
     public static void main(String[] args) {
         SpringApplication.run(RequestService.class, args);
@@ -0,0 +1,25 @@
+package ru.practicum.request.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ToString
+@ConfigurationProperties(prefix = "request-service.outbox")
+public class OutboxProperties {
+
+    // Сколько записей ретранслятор забирает за один проход
+    private int batchSize = 200;
+
+    private Duration relayInterval = Duration.ofSeconds(1);
+
+    // Пауза после неудачной отправки удваивается с каждой попыткой, но не превышает maxBackoff
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    private Duration maxBackoff = Duration.ofMinutes(5);
+}
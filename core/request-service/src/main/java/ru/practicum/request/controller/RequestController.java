@@ -1,8 +1,10 @@
 package ru.practicum.request.controller;
 
 import interaction.model.request.ParticipationRequestDto;
+import interaction.model.request.RequestStatus;
 import interaction.model.request.RequestStatusUpdateRequest;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -19,6 +21,12 @@ import ru.practicum.request.service.RequestService;
 
 import java.util.List;
 
+import static interaction.constants.Constants.DEFAULT_VALUE_0;
+import static interaction.constants.Constants.DEFAULT_VALUE_REQUESTS_PAGE_SIZE;
+import static interaction.constants.Constants.REQUEST_PARAM_FROM;
+import static interaction.constants.Constants.REQUEST_PARAM_SIZE;
+import static interaction.constants.Constants.REQUEST_PARAM_STATUS;
+
 @RestController
 @RequiredArgsConstructor
 @Validated
@@ -35,8 +43,11 @@ public class RequestController {
 
     @GetMapping("/users/{userId}/requests")
     @ResponseStatus(HttpStatus.OK)
-    public List<ParticipationRequestDto> getUserRequests(@PathVariable @Positive Integer userId) {
-        return requestService.getUserRequests(userId);
+    public List<ParticipationRequestDto> getUserRequests(@PathVariable @Positive Integer userId,
+                                                         @RequestParam(name = REQUEST_PARAM_STATUS, required = false) RequestStatus status,
+                                                         @RequestParam(name = REQUEST_PARAM_FROM, defaultValue = DEFAULT_VALUE_0) @PositiveOrZero Integer from,
+                                                         @RequestParam(name = REQUEST_PARAM_SIZE, defaultValue = DEFAULT_VALUE_REQUESTS_PAGE_SIZE) @Positive Integer size) {
+        return requestService.getUserRequests(userId, status, from, size);
     }
 
     @PatchMapping("/users/{userId}/requests/{requestId}/cancel")
@@ -1,13 +1,12 @@
 package ru.practicum.request.controller;
 
-import interaction.exceptions.exception.ConflictException;
-import interaction.exceptions.exception.NotFoundException;
+import interaction.model.request.EventRequestStatusUpdateResult;
 import interaction.model.request.ParticipationRequestDto;
+import interaction.model.request.RequestModerationRequest;
 import interaction.model.request.RequestStatus;
-import interaction.model.request.RequestStatusUpdateRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -18,12 +17,19 @@ import ru.practicum.request.mapper.ConfirmedCount;
 import ru.practicum.request.mapper.RequestMapper;
 import ru.practicum.request.model.Request;
 import ru.practicum.request.repository.RequestRepository;
+import ru.practicum.request.service.RequestService;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static interaction.constants.Constants.DEFAULT_VALUE_0;
+import static interaction.constants.Constants.DEFAULT_VALUE_REQUESTS_PAGE_SIZE;
+import static interaction.constants.Constants.REQUEST_PARAM_FROM;
+import static interaction.constants.Constants.REQUEST_PARAM_SIZE;
+import static interaction.constants.Constants.REQUEST_PARAM_STATUS;
+
 @RestController
 @RequestMapping("/requests")
 @RequiredArgsConstructor
@@ -31,34 +37,12 @@ public class RequestStatsController {
 
     private final RequestRepository requestRepository;
     private final RequestMapper requestMapper;
+    private final RequestService requestService;
 
-    @PatchMapping("/batch/status")
-    public List<ParticipationRequestDto> updateRequestsStatusBatch(
-            @RequestBody RequestStatusUpdateRequest batchRequest) {
-
-        List<Request> requests = requestRepository.findAllByIdIn(batchRequest.getRequestIds());
-
-        if (requests.size() != batchRequest.getRequestIds().size()) {
-            throw new NotFoundException("One or more requests not found");
-        }
-
-        for (Request request : requests) {
-            if (request.getStatus() != RequestStatus.PENDING) {
-                throw new ConflictException("Only requests with status PENDING can be changed");
-            }
-
-            if (batchRequest.getRequestIds() != null &&
-                    batchRequest.getRequestIds().contains(request.getId())) {
-                request.setStatus(RequestStatus.CONFIRMED);
-            } else if (batchRequest.getStatus() != null) {
-                request.setStatus(batchRequest.getStatus());
-            }
-        }
-
-        List<Request> savedRequests = requestRepository.saveAll(requests);
-        return savedRequests.stream()
-                .map(requestMapper::toParticipationRequestDto)
-                .collect(Collectors.toList());
+    @PostMapping("/events/{eventId}/moderation")
+    public EventRequestStatusUpdateResult moderateRequests(@PathVariable Integer eventId,
+                                                           @Valid @RequestBody RequestModerationRequest moderationRequest) {
+        return requestService.moderateRequests(eventId, moderationRequest);
     }
 
     @GetMapping("/events/{eventId}/confirmed/count")
@@ -84,11 +68,11 @@ public class RequestStatsController {
     }
 
     @GetMapping("/events/{eventId}")
-    public List<ParticipationRequestDto> getRequestsByEventId(@PathVariable Integer eventId) {
-        List<Request> requests = requestRepository.findByEventId(eventId);
-        return requests.stream()
-                .map(requestMapper::toParticipationRequestDto)
-                .collect(Collectors.toList());
+    public List<ParticipationRequestDto> getRequestsByEventId(@PathVariable Integer eventId,
+                                                              @RequestParam(name = REQUEST_PARAM_STATUS, required = false) RequestStatus status,
+                                                              @RequestParam(name = REQUEST_PARAM_FROM, defaultValue = DEFAULT_VALUE_0) Integer from,
+                                                              @RequestParam(name = REQUEST_PARAM_SIZE, defaultValue = DEFAULT_VALUE_REQUESTS_PAGE_SIZE) Integer size) {
+        return requestService.getEventRequests(eventId, status, from, size);
     }
 
     @PostMapping("/batch")
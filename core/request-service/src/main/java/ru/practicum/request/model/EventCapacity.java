@@ -0,0 +1,34 @@
+package ru.practicum.request.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Счётчик подтверждённых заявок события. Места резервируются условным UPDATE этой строки,
+ * поэтому параллельные подтверждения не превышают лимит участников.
+ */
+@Entity
+@Table(name = "event_capacity")
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode(of = "eventId")
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventCapacity {
+
+    @Id
+    @Column(name = "event_id")
+    private Integer eventId;
+
+    @Column(name = "confirmed", nullable = false)
+    private Integer confirmed;
+}
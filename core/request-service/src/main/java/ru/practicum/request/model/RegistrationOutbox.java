@@ -0,0 +1,54 @@
+package ru.practicum.request.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Регистрация пользователя на событие, ещё не доставленная в коллектор.
+ * Пишется в транзакции подтверждения заявки и удаляется ретранслятором после успешной отправки.
+ */
+@Entity
+@Table(name = "registration_outbox",
+        uniqueConstraints = @UniqueConstraint(name = "uq_registration_outbox_user_event",
+                columnNames = {"user_id", "event_id"}))
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode(of = "id")
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Column(name = "event_id", nullable = false)
+    private Integer eventId;
+
+    // Время создания заявки; уходит в коллектор временем действия
+    @Column(name = "created", nullable = false)
+    private LocalDateTime created;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+}
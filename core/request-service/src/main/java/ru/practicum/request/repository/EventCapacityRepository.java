@@ -0,0 +1,38 @@
+package ru.practicum.request.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.practicum.request.model.EventCapacity;
+
+import java.util.Optional;
+
+@Repository
+public interface EventCapacityRepository extends JpaRepository<EventCapacity, Integer> {
+
+    // Резервирует count мест, если они есть; limit = 0 означает отсутствие ограничения
+    @Modifying
+    @Query("UPDATE EventCapacity c SET c.confirmed = c.confirmed + :count " +
+            "WHERE c.eventId = :eventId AND (:limit = 0 OR c.confirmed + :count <= :limit)")
+    int tryReserve(@Param("eventId") Integer eventId,
+                   @Param("count") Integer count,
+                   @Param("limit") Integer limit);
+
+    // Создаёт счётчик по уже подтверждённым заявкам; при гонке вторая вставка ничего не делает
+    @Modifying
+    @Query(value = "INSERT INTO event_capacity (event_id, confirmed) " +
+            "SELECT :eventId, count(*) FROM requests r WHERE r.event_id = :eventId AND r.status = 'CONFIRMED' " +
+            "ON CONFLICT (event_id) DO NOTHING", nativeQuery = true)
+    void initIfAbsent(@Param("eventId") Integer eventId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM EventCapacity c WHERE c.eventId = :eventId")
+    Optional<EventCapacity> findForUpdate(@Param("eventId") Integer eventId);
+
+    @Query("SELECT c.confirmed FROM EventCapacity c WHERE c.eventId = :eventId")
+    Optional<Integer> findConfirmed(@Param("eventId") Integer eventId);
+}
@@ -0,0 +1,31 @@
+package ru.practicum.request.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.practicum.request.model.RegistrationOutbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RegistrationOutboxRepository extends JpaRepository<RegistrationOutbox, Long> {
+
+    // Повторная регистрация той же пары, ещё не ушедшая в коллектор, не дублируется
+    @Modifying
+    @Query(value = "INSERT INTO registration_outbox (user_id, event_id, created, attempts, next_attempt_at) " +
+            "VALUES (:userId, :eventId, :created, 0, :now) " +
+            "ON CONFLICT (user_id, event_id) DO NOTHING", nativeQuery = true)
+    void enqueue(@Param("userId") Integer userId,
+                 @Param("eventId") Integer eventId,
+                 @Param("created") LocalDateTime created,
+                 @Param("now") LocalDateTime now);
+
+    // SKIP LOCKED позволяет нескольким экземплярам сервиса разбирать очередь без конфликтов
+    @Query(value = "SELECT * FROM registration_outbox WHERE next_attempt_at <= :now " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<RegistrationOutbox> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+}
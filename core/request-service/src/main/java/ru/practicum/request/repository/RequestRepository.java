@@ -1,7 +1,9 @@
 package ru.practicum.request.repository;
 
 import interaction.model.request.RequestStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -23,16 +25,21 @@ public interface RequestRepository extends JpaRepository<Request, Integer> {
             "group by r.eventId")
     List<ConfirmedCount> countConfirmedForEventIds(@Param("eventIds") List<Integer> eventIds);
 
-    // Находит все заявки для определенного пользователя
-    List<Request> findByRequesterId(Integer requesterId);
-
     // Находит конкретную заявку для определенного пользователя и заявки
     @Query("SELECT r FROM Request r WHERE r.requesterId = :requesterId AND r.id = :id")
     Optional<Request> findRequest(@Param("requesterId") Integer requesterId,
                                   @Param("id") Integer id);
 
-    // Находит все заявки на участие в событии
-    List<Request> findByEventId(Integer eventId);
+    // Постраничные выборки; фильтр по статусу опционален, порядок задаётся Pageable
+    @Query("SELECT r FROM Request r WHERE r.eventId = :eventId AND (:status IS NULL OR r.status = :status)")
+    List<Request> findByEventId(@Param("eventId") Integer eventId,
+                                @Param("status") RequestStatus status,
+                                Pageable pageable);
+
+    @Query("SELECT r FROM Request r WHERE r.requesterId = :requesterId AND (:status IS NULL OR r.status = :status)")
+    List<Request> findByRequesterId(@Param("requesterId") Integer requesterId,
+                                    @Param("status") RequestStatus status,
+                                    Pageable pageable);
 
     // Подсчитывает количество подтвержденных заявок на участие в событии
     Integer countByEventIdAndStatus(Integer eventId, RequestStatus status);
@@ -44,4 +51,9 @@ public interface RequestRepository extends JpaRepository<Request, Integer> {
 
     List<Request> findByEventIdAndStatus(Integer eventId, RequestStatus status);
 
+    // Переводит заявки из PENDING одним UPDATE; возвращает число изменённых строк
+    @Modifying
+    @Query("UPDATE Request r SET r.status = :status WHERE r.id IN :ids AND r.status = 'PENDING'")
+    int updatePendingStatus(@Param("ids") List<Integer> ids, @Param("status") RequestStatus status);
+
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package ru.practicum.request.service;
+
+public interface EventCapacityService {
+
+    /**
+     * Атомарно резервирует count мест события в текущей транзакции.
+     * Откат транзакции возвращает места обратно.
+     *
+     * @return false, если свободных мест не хватает
+     */
+    boolean tryReserve(Integer eventId, int count, Integer participantLimit);
+
+    /**
+     * Резервирует столько мест из count, сколько осталось свободно, под блокировкой строки счётчика.
+     *
+     * @return число зарезервированных мест
+     */
+    int reserveUpTo(Integer eventId, int count, Integer participantLimit);
+
+    boolean isFull(Integer eventId, Integer participantLimit);
+}
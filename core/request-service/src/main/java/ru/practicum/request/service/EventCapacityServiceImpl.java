@@ -0,0 +1,67 @@
+package ru.practicum.request.service;
+
+import interaction.model.request.RequestStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.request.model.EventCapacity;
+import ru.practicum.request.repository.EventCapacityRepository;
+import ru.practicum.request.repository.RequestRepository;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventCapacityServiceImpl implements EventCapacityService {
+    private final EventCapacityRepository eventCapacityRepository;
+    private final RequestRepository requestRepository;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean tryReserve(Integer eventId, int count, Integer participantLimit) {
+        if (count <= 0) {
+            return true;
+        }
+        int limit = participantLimit != null ? participantLimit : 0;
+
+        if (eventCapacityRepository.tryReserve(eventId, count, limit) == 1) {
+            return true;
+        }
+
+        // Строки счётчика ещё нет — создаём её и пробуем ещё раз
+        eventCapacityRepository.initIfAbsent(eventId);
+        boolean reserved = eventCapacityRepository.tryReserve(eventId, count, limit) == 1;
+        if (!reserved) {
+            log.debug("Недостаточно мест в событии {}: запрошено {}, лимит {}", eventId, count, limit);
+        }
+        return reserved;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int reserveUpTo(Integer eventId, int count, Integer participantLimit) {
+        if (count <= 0) {
+            return 0;
+        }
+        eventCapacityRepository.initIfAbsent(eventId);
+        EventCapacity capacity = eventCapacityRepository.findForUpdate(eventId)
+                .orElseThrow(() -> new IllegalStateException("Capacity row for event " + eventId + " is missing"));
+
+        int limit = participantLimit != null ? participantLimit : 0;
+        int reserved = limit == 0 ? count : Math.max(0, Math.min(count, limit - capacity.getConfirmed()));
+        capacity.setConfirmed(capacity.getConfirmed() + reserved);
+        return reserved;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isFull(Integer eventId, Integer participantLimit) {
+        if (participantLimit == null || participantLimit == 0) {
+            return false;
+        }
+        int confirmed = eventCapacityRepository.findConfirmed(eventId)
+                .orElseGet(() -> requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED));
+        return confirmed >= participantLimit;
+    }
+}
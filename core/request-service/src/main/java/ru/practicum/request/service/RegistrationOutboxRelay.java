@@ -0,0 +1,31 @@
+package ru.practicum.request.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.request.config.OutboxProperties;
+
+/**
+ * Фоновая доставка регистраций из outbox в коллектор. Пока пачки приходят полными,
+ * очередь разбирается без паузы; после неудачной отправки ретранслятор ждёт следующего запуска.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RegistrationOutboxRelay {
+    private final RegistrationOutboxService outboxService;
+    private final OutboxProperties properties;
+
+    @Scheduled(fixedDelayString = "${request-service.outbox.relay-interval:1s}")
+    public void relay() {
+        try {
+            int processed;
+            do {
+                processed = outboxService.publishPending();
+            } while (processed == properties.getBatchSize());
+        } catch (Exception e) {
+            log.error("Ошибка ретрансляции outbox регистраций", e);
+        }
+    }
+}
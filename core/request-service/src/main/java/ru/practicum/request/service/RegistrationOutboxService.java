@@ -0,0 +1,21 @@
+package ru.practicum.request.service;
+
+import ru.practicum.client.CollectorClient;
+
+import java.util.List;
+
+public interface RegistrationOutboxService {
+
+    /**
+     * Ставит регистрации в очередь на отправку в коллектор в текущей транзакции.
+     * При откате транзакции регистрации не будут отправлены.
+     */
+    void enqueue(List<CollectorClient.Registration> registrations);
+
+    /**
+     * Отправляет одну пачку накопившихся регистраций.
+     *
+     * @return число отправленных регистраций; 0, если очередь пуста или коллектор недоступен
+     */
+    int publishPending();
+}
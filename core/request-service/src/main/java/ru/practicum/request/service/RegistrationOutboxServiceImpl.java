@@ -0,0 +1,70 @@
+package ru.practicum.request.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.client.CollectorClient;
+import ru.practicum.request.config.OutboxProperties;
+import ru.practicum.request.model.RegistrationOutbox;
+import ru.practicum.request.repository.RegistrationOutboxRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RegistrationOutboxServiceImpl implements RegistrationOutboxService {
+    private final RegistrationOutboxRepository outboxRepository;
+    private final CollectorClient collectorClient;
+    private final OutboxProperties properties;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(List<CollectorClient.Registration> registrations) {
+        LocalDateTime now = LocalDateTime.now();
+        for (CollectorClient.Registration registration : registrations) {
+            outboxRepository.enqueue((int) registration.userId(), (int) registration.eventId(),
+                    LocalDateTime.ofInstant(registration.createdAt(), ZoneId.systemDefault()), now);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int publishPending() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RegistrationOutbox> batch = outboxRepository.lockDue(now, properties.getBatchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            collectorClient.saveRegisters(batch.stream()
+                    .map(entry -> new CollectorClient.Registration(entry.getUserId(), entry.getEventId(),
+                            entry.getCreated().atZone(ZoneId.systemDefault()).toInstant()))
+                    .toList());
+        } catch (Exception e) {
+            // Записи остаются в очереди; коллектор учитывает регистрацию по максимальному весу,
+            // поэтому повторная доставка части пачки не искажает статистику
+            log.warn("Не удалось отправить {} регистраций в коллектор: {}", batch.size(), e.getMessage());
+            batch.forEach(entry -> {
+                entry.setAttempts(entry.getAttempts() + 1);
+                entry.setNextAttemptAt(now.plus(backoff(entry.getAttempts())));
+            });
+            return 0;
+        }
+
+        outboxRepository.deleteAllInBatch(batch);
+        log.debug("Отправлено в коллектор {} регистраций", batch.size());
+        return batch.size();
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : delay;
+    }
+}
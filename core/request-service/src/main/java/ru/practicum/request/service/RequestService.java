@@ -1,7 +1,10 @@
 package ru.practicum.request.service;
 
 
+import interaction.model.request.EventRequestStatusUpdateResult;
 import interaction.model.request.ParticipationRequestDto;
+import interaction.model.request.RequestModerationRequest;
+import interaction.model.request.RequestStatus;
 import interaction.model.request.RequestStatusUpdateRequest;
 
 import java.util.List;
@@ -9,12 +12,18 @@ import java.util.List;
 public interface RequestService {
     ParticipationRequestDto createRequest(Integer userId, Integer eventId);
 
-    // Метод для получения всех запросов пользователя
-    List<ParticipationRequestDto> getUserRequests(Integer userId);
+    // Метод для получения запросов пользователя; status == null — без фильтра
+    List<ParticipationRequestDto> getUserRequests(Integer userId, RequestStatus status, Integer from, Integer size);
+
+    // Заявки на участие в событии постранично, с опциональным фильтром по статусу
+    List<ParticipationRequestDto> getEventRequests(Integer eventId, RequestStatus status, Integer from, Integer size);
 
     // Метод для отмены запроса
     ParticipationRequestDto cancelRequest(Integer userId, Integer requestId);
 
     List<ParticipationRequestDto> updateRequestsStatusBatch(
             RequestStatusUpdateRequest batchRequest);
+
+    // Подтверждение и отклонение заявок инициатором события в одной транзакции
+    EventRequestStatusUpdateResult moderateRequests(Integer eventId, RequestModerationRequest moderationRequest);
 }
@@ -1,15 +1,22 @@
 package ru.practicum.request.service;
 
-import interaction.client.EventFeignClient;
-import interaction.client.UserFeignClient;
+import interaction.client.EventMetadataClient;
+import interaction.client.UserExistenceClient;
 import interaction.exceptions.exception.ConflictException;
 import interaction.exceptions.exception.NotFoundException;
-import interaction.model.event.dto.EventFullDto;
+import interaction.exceptions.exception.ValidationException;
+import interaction.model.event.dto.EventMetadataDto;
+import interaction.model.event.enums.EventState;
+import interaction.model.request.EventRequestStatusUpdateResult;
 import interaction.model.request.ParticipationRequestDto;
+import interaction.model.request.RequestModerationRequest;
 import interaction.model.request.RequestStatus;
 import interaction.model.request.RequestStatusUpdateRequest;
-import interaction.model.user.UserShortDto;
+import interaction.pagination.OffsetPageRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.client.CollectorClient;
@@ -18,47 +25,47 @@ import ru.practicum.request.model.Request;
 import ru.practicum.request.repository.RequestRepository;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class RequestServiceImpl implements RequestService {
-    private final UserFeignClient userFeignClient;
-    private final EventFeignClient eventFeignClient;
+    private static final int DEFAULT_PAGE_SIZE = 1000;
+
+    private final UserExistenceClient userExistenceClient;
+    private final EventMetadataClient eventMetadataClient;
     private final RequestRepository requestRepository;
     private final RequestMapper requestMapper;
-    private final CollectorClient collectorClient;
+    private final RegistrationOutboxService registrationOutboxService;
+    private final EventCapacityService eventCapacityService;
 
     @Override
     @Transactional
     public ParticipationRequestDto createRequest(Integer userId, Integer eventId) {
         checkUserExists(userId);
 
-        EventFullDto event = getEventById(eventId);
+        EventMetadataDto event = getEventMetadata(eventId);
 
         if (requestRepository.existsByRequesterIdAndEventId(userId, eventId)) {
             throw new ConflictException("Request already exists");
         }
 
-        if (event.getInitiator() != null && event.getInitiator().getId() != null) {
-            Integer initiatorId = event.getInitiator().getId();
-            if (initiatorId.equals(userId)) {
-                throw new ConflictException("Event initiator cannot request participation");
-            }
+        if (userId.equals(event.getInitiatorId())) {
+            throw new ConflictException("Event initiator cannot request participation");
         }
 
-        if (!"PUBLISHED".equalsIgnoreCase(event.getState())) {
+        if (event.getState() != EventState.PUBLISHED) {
             throw new ConflictException("Cannot participate in unpublished event");
         }
 
         Integer participantLimit = event.getParticipantLimit();
-        if (participantLimit != null && participantLimit != 0) {
-            long confirmedRequestsCount = requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED);
-            if (confirmedRequestsCount >= participantLimit) {
-                throw new ConflictException("Participant limit reached");
-            }
+        if (eventCapacityService.isFull(eventId, participantLimit)) {
+            throw new ConflictException("Participant limit reached");
         }
 
         Request request = new Request();
@@ -66,25 +73,48 @@ public class RequestServiceImpl implements RequestService {
         request.setEventId(eventId);
         request.setRequesterId(userId);
 
-        Boolean requestModeration = event.getRequestModeration();
-        if (Boolean.FALSE.equals(requestModeration) || (participantLimit != null && participantLimit == 0)) {
-            request.setStatus(RequestStatus.CONFIRMED);
-
-            sendRegistrationToCollector(userId, eventId);
+        if (confirmsImmediately(event)) {
+            // Лимит и модерация в near-cache могут отставать: решение о резерве принимается по свежим данным
+            event = getFreshEventMetadata(eventId);
+            if (event.getState() != EventState.PUBLISHED) {
+                throw new ConflictException("Cannot participate in unpublished event");
+            }
+        }
 
+        if (confirmsImmediately(event)) {
+            if (!eventCapacityService.tryReserve(eventId, 1, event.getParticipantLimit())) {
+                throw new ConflictException("Participant limit reached");
+            }
+            request.setStatus(RequestStatus.CONFIRMED);
+            sendRegistrationsToCollector(List.of(toRegistration(request)));
         } else {
             request.setStatus(RequestStatus.PENDING);
         }
 
-        Request savedRequest = requestRepository.save(request);
+        Request savedRequest;
+        try {
+            savedRequest = requestRepository.saveAndFlush(request);
+        } catch (DataIntegrityViolationException e) {
+            // Параллельная заявка того же пользователя упёрлась в уникальный индекс (requester_id, event_id)
+            throw new ConflictException("Request already exists");
+        }
         return requestMapper.toParticipationRequestDto(savedRequest);
     }
 
     @Override
-    public List<ParticipationRequestDto> getUserRequests(Integer userId) {
+    public List<ParticipationRequestDto> getUserRequests(Integer userId, RequestStatus status, Integer from, Integer size) {
         checkUserExists(userId);
 
-        List<Request> requests = requestRepository.findByRequesterId(userId);
+        List<Request> requests = requestRepository.findByRequesterId(userId, status, page(from, size));
+
+        return requests.stream()
+                .map(requestMapper::toParticipationRequestDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ParticipationRequestDto> getEventRequests(Integer eventId, RequestStatus status, Integer from, Integer size) {
+        List<Request> requests = requestRepository.findByEventId(eventId, status, page(from, size));
 
         return requests.stream()
                 .map(requestMapper::toParticipationRequestDto)
@@ -116,50 +146,157 @@ public class RequestServiceImpl implements RequestService {
     public List<ParticipationRequestDto> updateRequestsStatusBatch(
             RequestStatusUpdateRequest batchRequest) {
 
-        List<Integer> requestIds = batchRequest.getRequestIds();
         RequestStatus newStatus = batchRequest.getStatus();
+        if (newStatus != RequestStatus.CONFIRMED && newStatus != RequestStatus.REJECTED) {
+            throw new ValidationException("Invalid target status");
+        }
+        if (batchRequest.getRequestIds() == null || batchRequest.getRequestIds().isEmpty()) {
+            throw new ValidationException("requestIds must be not empty");
+        }
 
-        List<Request> requests = requestRepository.findAllById(requestIds);
+        List<Integer> requestIds = batchRequest.getRequestIds().stream().distinct().toList();
+        Map<Integer, Request> requests = requestRepository.findAllByIdIn(requestIds).stream()
+                .collect(Collectors.toMap(Request::getId, Function.identity()));
 
         if (requests.size() != requestIds.size()) {
             throw new NotFoundException("Some requests not found");
         }
+        if (requests.values().stream().anyMatch(request -> request.getStatus() != RequestStatus.PENDING)) {
+            throw new ConflictException("Only requests with status PENDING can be changed");
+        }
+
+        // Места резервируются до смены статусов, как в moderateRequests: иначе счётчик события,
+        // впервые инициализируемый подсчётом подтверждённых заявок, учёл бы эти заявки дважды
+        if (newStatus == RequestStatus.CONFIRMED) {
+            reserveForConfirmation(List.copyOf(requests.values()));
+        }
+        changePendingStatus(requestIds, newStatus);
+
+        if (newStatus == RequestStatus.CONFIRMED) {
+            sendRegistrationsToCollector(requestIds.stream()
+                    .map(id -> toRegistration(requests.get(id)))
+                    .toList());
+        }
+
+        return toDtos(requestIds, requests, newStatus);
+    }
+
+    @Override
+    @Transactional
+    public EventRequestStatusUpdateResult moderateRequests(Integer eventId, RequestModerationRequest moderationRequest) {
+        RequestStatus targetStatus = moderationRequest.getStatus();
+        if (targetStatus != RequestStatus.CONFIRMED && targetStatus != RequestStatus.REJECTED) {
+            throw new ValidationException("Invalid target status");
+        }
 
-        for (Request request : requests) {
+        List<Integer> requestIds = moderationRequest.getRequestIds().stream().distinct().toList();
+        Map<Integer, Request> requests = requestRepository.findAllByIdIn(requestIds).stream()
+                .collect(Collectors.toMap(Request::getId, Function.identity()));
+
+        if (requests.size() != requestIds.size()) {
+            throw new NotFoundException("One or more requests not found");
+        }
+
+        for (Request request : requests.values()) {
+            if (!request.getEventId().equals(eventId)) {
+                throw new ConflictException("Request id=" + request.getId() + " does not belong to event id=" + eventId);
+            }
             if (request.getStatus() != RequestStatus.PENDING) {
-                throw new ConflictException(
-                        "Request id=" + request.getId() + " is not in PENDING status"
-                );
+                throw new ConflictException("Only requests with status PENDING can be changed");
             }
+        }
 
-            request.setStatus(newStatus);
-
-            if (newStatus == RequestStatus.CONFIRMED) {
-                sendRegistrationToCollector(request.getRequesterId(), request.getEventId());
+        int participantLimit = moderationRequest.getParticipantLimit();
+        int confirmedCount;
+        if (participantLimit == 0 || Boolean.FALSE.equals(moderationRequest.getRequestModeration())) {
+            confirmedCount = eventCapacityService.reserveUpTo(eventId, requestIds.size(), 0);
+        } else if (targetStatus == RequestStatus.CONFIRMED) {
+            confirmedCount = eventCapacityService.reserveUpTo(eventId, requestIds.size(), participantLimit);
+            if (confirmedCount == 0) {
+                throw new ConflictException("The participant limit has been reached");
             }
+        } else {
+            confirmedCount = 0;
         }
 
-        List<Request> savedRequests = requestRepository.saveAll(requests);
+        List<Integer> confirmedIds = requestIds.subList(0, confirmedCount);
+        List<Integer> rejectedIds = requestIds.subList(confirmedCount, requestIds.size());
 
-        return savedRequests.stream()
-                .map(requestMapper::toParticipationRequestDto)
+        changePendingStatus(confirmedIds, RequestStatus.CONFIRMED);
+        changePendingStatus(rejectedIds, RequestStatus.REJECTED);
+
+        sendRegistrationsToCollector(confirmedIds.stream()
+                .map(id -> toRegistration(requests.get(id)))
+                .toList());
+
+        return EventRequestStatusUpdateResult.builder()
+                .confirmedRequests(toDtos(confirmedIds, requests, RequestStatus.CONFIRMED))
+                .rejectedRequests(toDtos(rejectedIds, requests, RequestStatus.REJECTED))
+                .build();
+    }
+
+    private void changePendingStatus(List<Integer> requestIds, RequestStatus status) {
+        if (requestIds.isEmpty()) {
+            return;
+        }
+        // Меньше строк, чем id, — заявку успели изменить параллельно; откатываем всю модерацию
+        if (requestRepository.updatePendingStatus(requestIds, status) != requestIds.size()) {
+            throw new ConflictException("Only requests with status PENDING can be changed");
+        }
+    }
+
+    private List<ParticipationRequestDto> toDtos(List<Integer> requestIds, Map<Integer, Request> requests,
+                                                 RequestStatus status) {
+        return requestIds.stream()
+                .map(id -> {
+                    ParticipationRequestDto dto = requestMapper.toParticipationRequestDto(requests.get(id));
+                    dto.setStatus(status.name());
+                    return dto;
+                })
                 .collect(Collectors.toList());
     }
 
-    private void checkUserExists(Integer userId) {
-        try {
-            UserShortDto userDto = userFeignClient.getById(userId);
-            if (userDto == null) {
-                throw new NotFoundException("User with id=" + userId + " was not found");
+    // Места резервируются по каждому событию до смены статусов; при нехватке вся пачка откатывается
+    private void reserveForConfirmation(List<Request> requests) {
+        Map<Integer, Long> countsByEvent = requests.stream()
+                .collect(Collectors.groupingBy(Request::getEventId, Collectors.counting()));
+
+        countsByEvent.forEach((eventId, count) -> {
+            EventMetadataDto event = getFreshEventMetadata(eventId);
+            if (!eventCapacityService.tryReserve(eventId, count.intValue(), event.getParticipantLimit())) {
+                throw new ConflictException("The participant limit has been reached");
             }
-        } catch (Exception e) {
+        });
+    }
+
+    private Pageable page(Integer from, Integer size) {
+        int safeFrom = (from != null) ? Math.max(from, 0) : 0;
+        int safeSize = (size != null) ? Math.max(size, 1) : DEFAULT_PAGE_SIZE;
+        return OffsetPageRequest.of(safeFrom, safeSize, Sort.by("id"));
+    }
+
+    private void checkUserExists(Integer userId) {
+        if (!userExistenceClient.exists(userId)) {
             throw new NotFoundException("User with id=" + userId + " was not found");
         }
     }
 
-    private EventFullDto getEventById(Integer eventId) {
+    private static boolean confirmsImmediately(EventMetadataDto event) {
+        Integer participantLimit = event.getParticipantLimit();
+        return Boolean.FALSE.equals(event.getRequestModeration()) || (participantLimit != null && participantLimit == 0);
+    }
+
+    private EventMetadataDto getEventMetadata(Integer eventId) {
+        return readEventMetadata(eventId, false);
+    }
+
+    private EventMetadataDto getFreshEventMetadata(Integer eventId) {
+        return readEventMetadata(eventId, true);
+    }
+
+    private EventMetadataDto readEventMetadata(Integer eventId, boolean fresh) {
         try {
-            EventFullDto event = eventFeignClient.getEventFullDtoById(eventId);
+            EventMetadataDto event = fresh ? eventMetadataClient.getFresh(eventId) : eventMetadataClient.get(eventId);
             if (event == null) {
                 throw new ConflictException("Event with id=" + eventId + " was not found");
             }
@@ -169,9 +306,13 @@ public class RequestServiceImpl implements RequestService {
         }
     }
 
-    private void sendRegistrationToCollector(Integer userId, Integer eventId) {
-
-        collectorClient.saveRegister(userId.longValue(), eventId.longValue());
+    private CollectorClient.Registration toRegistration(Request request) {
+        return new CollectorClient.Registration(request.getRequesterId(), request.getEventId(),
+                request.getCreated().atZone(ZoneId.systemDefault()).toInstant());
+    }
 
+    // Регистрации уходят в коллектор через outbox только после фиксации транзакции
+    private void sendRegistrationsToCollector(List<CollectorClient.Registration> registrations) {
+        registrationOutboxService.enqueue(registrations);
     }
 }
@@ -0,0 +1,15 @@
+-- Таблица может быть уже создана Hibernate (ddl-auto: update), поэтому всё через IF NOT EXISTS
+CREATE TABLE IF NOT EXISTS requests
+(
+    id           INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    requester_id INTEGER      NOT NULL,
+    event_id     INTEGER      NOT NULL,
+    created      TIMESTAMP    NOT NULL,
+    status       VARCHAR(255) NOT NULL
+);
+
+-- Заявки события с фильтром по статусу и подсчёт подтверждённых
+CREATE INDEX IF NOT EXISTS idx_requests_event_status ON requests (event_id, status);
+
+-- Одна заявка пользователя на событие; индекс же обслуживает выборки по requester_id
+CREATE UNIQUE INDEX IF NOT EXISTS uq_requests_requester_event ON requests (requester_id, event_id);
@@ -0,0 +1,19 @@
+CREATE TABLE IF NOT EXISTS event_capacity
+(
+    event_id  INTEGER PRIMARY KEY,
+    confirmed INTEGER NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS registration_outbox
+(
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id         INTEGER      NOT NULL,
+    event_id        INTEGER      NOT NULL,
+    created         TIMESTAMP(6) NOT NULL,
+    attempts        INTEGER      NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uq_registration_outbox_user_event UNIQUE (user_id, event_id)
+);
+
+-- Ретранслятор выбирает записи, срок отправки которых наступил
+CREATE INDEX IF NOT EXISTS idx_registration_outbox_next_attempt ON registration_outbox (next_attempt_at, id);
@@ -8,6 +8,7 @@ import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import interaction.model.user.NewUserRequest;
@@ -33,9 +34,12 @@ public class AdminUserController {
     }
 
     @GetMapping
-    public List<UserDto> getUsers(@Valid @ModelAttribute AdminUserParam params) {
+    public ResponseEntity<List<UserDto>> getUsers(@Valid @ModelAttribute AdminUserParam params) {
         log.info("ADMIN:get users params={}", params);
-        return userService.getUsers(params);
+        if (params.getCursor() != null) {
+            return userService.getUsersAfter(params).toResponseEntity();
+        }
+        return ResponseEntity.ok(userService.getUsers(params));
     }
 
     @DeleteMapping("/{userId}")
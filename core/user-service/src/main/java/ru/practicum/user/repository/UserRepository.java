@@ -13,4 +13,6 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     Page<User> findAllByIdIn(List<Integer> ids, Pageable pageable);
 
     List<User> findAllByIdIn(List<Integer> ids);
+
+    List<User> findByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
 }
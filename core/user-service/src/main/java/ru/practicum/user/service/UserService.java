@@ -4,6 +4,7 @@ import interaction.model.user.AdminUserParam;
 import interaction.model.user.NewUserRequest;
 import interaction.model.user.UserDto;
 import interaction.model.user.UserShortDto;
+import interaction.pagination.KeysetSlice;
 
 import java.util.List;
 
@@ -12,6 +13,8 @@ public interface UserService {
 
     List<UserDto> getUsers(AdminUserParam param);
 
+    KeysetSlice<UserDto> getUsersAfter(AdminUserParam param);
+
     void delete(Integer userId);
 
     UserShortDto getById(Integer id);
@@ -6,6 +6,8 @@ import interaction.model.user.AdminUserParam;
 import interaction.model.user.NewUserRequest;
 import interaction.model.user.UserDto;
 import interaction.model.user.UserShortDto;
+import interaction.pagination.KeysetCursor;
+import interaction.pagination.KeysetSlice;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
@@ -15,8 +17,6 @@ import ru.practicum.user.model.User;
 import ru.practicum.user.repository.UserRepository;
 
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -55,6 +55,21 @@ public class UserServiceImpl implements UserService {
                 .getContent();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetSlice<UserDto> getUsersAfter(AdminUserParam param) {
+        KeysetCursor cursor = KeysetCursor.decode(param.getCursor());
+        int size = param.getSize() == null ? 10 : param.getSize();
+        // id > 0 для первой страницы: identity-ключи всегда положительные
+        int afterId = cursor == null ? 0 : cursor.getId();
+
+        List<User> rows = userRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(size + 1));
+
+        return KeysetSlice.of(rows, size,
+                user -> KeysetCursor.of(user.getId()),
+                users -> users.stream().map(UserMapper::toDto).toList());
+    }
+
     @Override
     @Transactional
     public void delete(Integer userId) {
@@ -72,22 +87,10 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserShortDto> getByIds(List<Integer> ids) {
-        List<User> foundUsers = userRepository.findAllByIdIn(ids);
-
-        Set<Integer> foundIds = foundUsers.stream()
-                .map(User::getId)
-                .collect(Collectors.toSet());
-
-        List<Integer> notFoundIds = ids.stream()
-                .filter(id -> !foundIds.contains(id))
-                .toList();
-
-        if (!notFoundIds.isEmpty()) {
-            throw new NotFoundException("Users with IDs " + notFoundIds + " not found.");
-        }
-
-        return foundUsers.stream()
+        // Отсутствующие id пропускаются: вызывающий сервис сам решает, ошибка это или удалённый пользователь
+        return userRepository.findAllByIdIn(ids).stream()
                 .map(mapper::toShortDto)
                 .toList();
     }
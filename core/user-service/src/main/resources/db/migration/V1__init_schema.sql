@@ -0,0 +1,8 @@
+-- Схема могла быть создана Hibernate (ddl-auto: update), поэтому объекты создаются через IF NOT EXISTS
+CREATE TABLE IF NOT EXISTS users
+(
+    id    INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email VARCHAR(254) NOT NULL,
+    name  VARCHAR(250) NOT NULL,
+    CONSTRAINT uq_user_email UNIQUE (email)
+);
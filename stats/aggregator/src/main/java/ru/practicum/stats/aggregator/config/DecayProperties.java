@@ -0,0 +1,29 @@
+package ru.practicum.stats.aggregator.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ToString
+@ConfigurationProperties(prefix = "aggregator.decay")
+public class DecayProperties {
+
+    // За это время вес взаимодействия уменьшается вдвое; 0 отключает затухание
+    @NotNull(message = "Half-life must not be null")
+    private Duration halfLife = Duration.ofDays(30);
+
+    // Как часто состояние пересчитывается к текущему времени и очищается от слабых весов
+    @NotNull(message = "Compaction interval must not be null")
+    private Duration compactionInterval = Duration.ofMinutes(10);
+
+    // Веса ниже порога после затухания удаляются при очистке
+    @PositiveOrZero(message = "Minimal weight must not be negative")
+    private double minWeight = 0.01;
+}
@@ -24,6 +24,9 @@ public class KafkaConfig {
     private Consumer consumer;
     ;
 
+    // Отдельный консьюмер: у топика жизненного цикла свой десериализатор значений
+    private Consumer lifecycleConsumer;
+
     @NotEmpty(message = "Kafka topics must not be empty")
     private Map<String, String> topics = Collections.emptyMap();
 
@@ -46,7 +49,8 @@ public class KafkaConfig {
 
     public enum TopicType {
         USER_ACTIONS("user-actions"),
-        EVENTS_SIMILARITY("events-similarity");
+        EVENTS_SIMILARITY("events-similarity"),
+        EVENT_LIFECYCLE("event-lifecycle");
 
         private final String topicName;
 
@@ -12,8 +12,10 @@ import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.WakeupException;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Component;
+import ru.practicum.ewm.stats.avro.EventLifecycleAvro;
 import ru.practicum.ewm.stats.avro.EventSimilarityAvro;
 import ru.practicum.ewm.stats.avro.UserActionAvro;
+import ru.practicum.stats.aggregator.config.DecayProperties;
 import ru.practicum.stats.aggregator.config.KafkaConfig;
 
 import java.time.Duration;
@@ -34,20 +36,25 @@ public class AggregationStarter implements DisposableBean {
     private final AtomicBoolean running = new AtomicBoolean(false);
 
     private final KafkaConsumer<Long, SpecificRecordBase> consumer;
+    private final KafkaConsumer<Long, SpecificRecordBase> lifecycleConsumer;
     private final KafkaProducer<String, SpecificRecordBase> producer;
     private final EventSimilarityServiceImpl eventSimilarityService;
     private final Duration consumeAttemptTimeout;
-
+    private final long compactionIntervalMs;
+    private long lastCompactionAt = System.currentTimeMillis();
 
     public AggregationStarter(KafkaConfig kafkaConfig,
+                              DecayProperties decayProperties,
                               EventSimilarityServiceImpl eventSimilarityService) {
         Objects.requireNonNull(kafkaConfig, "KafkaConfig must not be null");
         Objects.requireNonNull(eventSimilarityService, "EventSimilarityService must not be null");
 
         this.consumer = new KafkaConsumer<>(kafkaConfig.getConsumer().getProperties());
+        this.lifecycleConsumer = new KafkaConsumer<>(kafkaConfig.getLifecycleConsumer().getProperties());
         this.producer = new KafkaProducer<>(kafkaConfig.getProducer().getProperties());
         this.eventSimilarityService = eventSimilarityService;
         this.consumeAttemptTimeout = Duration.ofMillis(kafkaConfig.getConsumeAttemptTimeoutMillis());
+        this.compactionIntervalMs = decayProperties.getCompactionInterval().toMillis();
         for (KafkaConfig.TopicType type : KafkaConfig.TopicType.values()) {
             topics.put(type, kafkaConfig.getTopic(type));
         }
@@ -61,6 +68,7 @@ public class AggregationStarter implements DisposableBean {
 
         try {
             consumer.subscribe(List.of(topics.get(KafkaConfig.TopicType.USER_ACTIONS)));
+            lifecycleConsumer.subscribe(List.of(topics.get(KafkaConfig.TopicType.EVENT_LIFECYCLE)));
 
             while (running.get()) {
                 ConsumerRecords<Long, SpecificRecordBase> records = consumer.poll(consumeAttemptTimeout);
@@ -77,6 +85,9 @@ public class AggregationStarter implements DisposableBean {
                 if (!currentOffsets.isEmpty()) {
                     consumer.commitAsync();
                 }
+
+                evictFinishedEvents();
+                compactIfDue();
             }
 
         } catch (WakeupException ignored) {
@@ -92,6 +103,7 @@ public class AggregationStarter implements DisposableBean {
         if (running.compareAndSet(true, false)) {
             log.info("Stopping aggregation process...");
             consumer.wakeup();
+            lifecycleConsumer.wakeup();
         }
     }
 
@@ -109,11 +121,39 @@ public class AggregationStarter implements DisposableBean {
         } finally {
             log.info("Закрываем консьюмер");
             consumer.close();
+            lifecycleConsumer.close();
             log.info("Закрываем продюсер");
             producer.close();
         }
     }
 
+    // Читается в том же потоке без ожидания, чтобы вытеснение не пересекалось с обновлением состояния
+    private void evictFinishedEvents() {
+        ConsumerRecords<Long, SpecificRecordBase> records = lifecycleConsumer.poll(Duration.ZERO);
+        if (records.isEmpty()) {
+            return;
+        }
+
+        for (ConsumerRecord<Long, SpecificRecordBase> record : records) {
+            if (record.value() instanceof EventLifecycleAvro lifecycle) {
+                eventSimilarityService.evict(lifecycle.getEventId());
+            } else {
+                log.warn("Пропускаем запись неожиданного типа в топике жизненного цикла: offset={}", record.offset());
+            }
+        }
+        lifecycleConsumer.commitAsync();
+    }
+
+    // Очистка идёт в потоке обработки, поэтому состоянию не нужна дополнительная синхронизация
+    private void compactIfDue() {
+        long now = System.currentTimeMillis();
+        if (now - lastCompactionAt < compactionIntervalMs) {
+            return;
+        }
+        eventSimilarityService.compact();
+        lastCompactionAt = now;
+    }
+
     private UserActionAvro handleRecord(ConsumerRecord<Long, SpecificRecordBase> record) {
         log.debug("Received record: topic={}, partition={}, offset={}, key={}",
                 record.topic(), record.partition(), record.offset(), record.key());
@@ -10,4 +10,14 @@ public interface EventSimilarityService {
 
     Optional<List<EventSimilarityAvro>> updateState(UserActionAvro userAction);
 
+    /**
+     * Приводит веса к текущему моменту и удаляет затухшие, пересчитывая суммы сходства.
+     */
+    void compact();
+
+    /**
+     * Удаляет всё состояние прошедшего или отменённого события.
+     */
+    void evict(long eventId);
+
 }
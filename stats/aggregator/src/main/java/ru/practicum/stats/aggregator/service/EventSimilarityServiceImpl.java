@@ -1,24 +1,36 @@
 package ru.practicum.stats.aggregator.service;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import ru.practicum.stats.aggregator.config.DecayProperties;
 import ru.practicum.ewm.stats.avro.ActionTypeAvro;
 import ru.practicum.ewm.stats.avro.EventSimilarityAvro;
 import ru.practicum.ewm.stats.avro.UserActionAvro;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Веса хранятся с прямым затуханием: вес действия в момент t записывается как w * exp(λ(t - t0)),
+ * где t0 — опорный момент. Так все веса отличаются от «текущих» одним общим множителем, который
+ * сокращается в сходстве sumMin / sqrt(sumA * sumB), а сравнение весов по максимуму учитывает давность.
+ * Периодическая очистка переносит t0 на последнее время действия, удаляет затухшие веса
+ * и пересчитывает суммы с нуля.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class EventSimilarityServiceImpl implements EventSimilarityService {
+    // Запас до переполнения exp(): при таком показателе опорный момент переносится вне очереди
+    private static final double MAX_EXPONENT = 500;
+
     private final Map<Long, Map<Long, Double>> userWeights = new ConcurrentHashMap<>();
     private final Map<Long, Double> eventWeightSums = new ConcurrentHashMap<>();
     private final Map<Long, Map<Long, Double>> minWeightsSum = new ConcurrentHashMap<>();
@@ -29,6 +41,18 @@ public class EventSimilarityServiceImpl implements EventSimilarityService {
             ActionTypeAvro.LIKE, 1.0
     );
 
+    // Скорость затухания на миллисекунду
+    private final double lambda;
+    private final double minWeight;
+    private long referenceMillis = Long.MIN_VALUE;
+    private long latestMillis = Long.MIN_VALUE;
+
+    public EventSimilarityServiceImpl(DecayProperties decayProperties) {
+        Duration halfLife = decayProperties.getHalfLife();
+        this.lambda = halfLife.isZero() ? 0 : Math.log(2) / halfLife.toMillis();
+        this.minWeight = decayProperties.getMinWeight();
+    }
+
     @Override
     public Optional<List<EventSimilarityAvro>> updateState(UserActionAvro userAction) {
         Objects.requireNonNull(userAction, "UserAction must not be null");
@@ -38,11 +62,12 @@ public class EventSimilarityServiceImpl implements EventSimilarityService {
 
         Long userId = userAction.getUserId();
         Long eventId = userAction.getEventId();
-        Double newWeight = convertTypeActionToWeight(userAction.getActionType());
         Instant timestamp = userAction.getTimestamp();
 
         validateIds(userId, eventId);
 
+        Double newWeight = decayedWeight(convertTypeActionToWeight(userAction.getActionType()), timestamp);
+
         Map<Long, Double> userWeight = userWeights.computeIfAbsent(eventId, k -> new ConcurrentHashMap<>());
         Double currentWeight = userWeight.get(userId);
 
@@ -59,6 +84,89 @@ public class EventSimilarityServiceImpl implements EventSimilarityService {
         return Optional.of(similarities);
     }
 
+    @Override
+    public void compact() {
+        if (latestMillis == Long.MIN_VALUE) {
+            return;
+        }
+
+        double factor = Math.exp(-lambda * (latestMillis - referenceMillis));
+        int removed = 0;
+
+        Iterator<Map.Entry<Long, Map<Long, Double>>> events = userWeights.entrySet().iterator();
+        while (events.hasNext()) {
+            Map<Long, Double> users = events.next().getValue();
+            Iterator<Map.Entry<Long, Double>> weights = users.entrySet().iterator();
+            while (weights.hasNext()) {
+                Map.Entry<Long, Double> weight = weights.next();
+                double current = weight.getValue() * factor;
+                if (current < minWeight) {
+                    weights.remove();
+                    removed++;
+                } else {
+                    weight.setValue(current);
+                }
+            }
+            if (users.isEmpty()) {
+                events.remove();
+            }
+        }
+        referenceMillis = latestMillis;
+
+        rebuildSums();
+        log.info("Очистка состояния: удалено {} весов, осталось {} мероприятий", removed, userWeights.size());
+    }
+
+    @Override
+    public void evict(long eventId) {
+        Map<Long, Double> users = userWeights.remove(eventId);
+        eventWeightSums.remove(eventId);
+        // Пары хранятся по меньшему id, поэтому событие может быть и ключом, и вложенным ключом
+        minWeightsSum.remove(eventId);
+        minWeightsSum.values().forEach(pairs -> pairs.remove(eventId));
+
+        log.info("Вытеснено мероприятие {}: удалено {} весов пользователей",
+                eventId, users == null ? 0 : users.size());
+    }
+
+    private Double decayedWeight(double weight, Instant timestamp) {
+        long millis = timestamp.toEpochMilli();
+        if (referenceMillis == Long.MIN_VALUE) {
+            referenceMillis = millis;
+        }
+        latestMillis = Math.max(latestMillis, millis);
+
+        if (lambda * (millis - referenceMillis) > MAX_EXPONENT) {
+            compact();
+        }
+        return weight * Math.exp(lambda * (millis - referenceMillis));
+    }
+
+    // Суммы весов и попарные суммы минимумов заново из userWeights: после удаления весов
+    // вычитать вклад каждого пользователя из всех пар дороже, чем собрать суммы с нуля
+    private void rebuildSums() {
+        Map<Long, Map<Long, Double>> eventsByUser = new HashMap<>();
+        eventWeightSums.clear();
+        userWeights.forEach((eventId, users) -> {
+            eventWeightSums.put(eventId, users.values().stream().mapToDouble(Double::doubleValue).sum());
+            users.forEach((userId, weight) ->
+                    eventsByUser.computeIfAbsent(userId, k -> new HashMap<>()).put(eventId, weight));
+        });
+
+        minWeightsSum.clear();
+        for (Map<Long, Double> events : eventsByUser.values()) {
+            List<Map.Entry<Long, Double>> entries = new ArrayList<>(events.entrySet());
+            for (int i = 0; i < entries.size(); i++) {
+                for (int j = i + 1; j < entries.size(); j++) {
+                    Map.Entry<Long, Double> a = entries.get(i);
+                    Map.Entry<Long, Double> b = entries.get(j);
+                    minWeightsSum.computeIfAbsent(Math.min(a.getKey(), b.getKey()), k -> new ConcurrentHashMap<>())
+                            .merge(Math.max(a.getKey(), b.getKey()), Math.min(a.getValue(), b.getValue()), Double::sum);
+                }
+            }
+        }
+    }
+
     private List<EventSimilarityAvro> updateMinWeightsAndCalculateSimilarities(
             Long eventA,
             Long userId,
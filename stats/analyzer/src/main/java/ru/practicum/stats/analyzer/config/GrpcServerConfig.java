@@ -0,0 +1,33 @@
+package ru.practicum.stats.analyzer.config;
+
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Обработчики gRPC блокируются на JPA, поэтому выполняются на отдельном executor,
+ * а не на потоках Netty.
+ */
+@Slf4j
+@Configuration
+public class GrpcServerConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService grpcHandlerExecutor(GrpcServerProperties properties) {
+        log.info("gRPC обработчики выполняются на executor {}", properties.getExecutor());
+        return switch (properties.getExecutor()) {
+            case VIRTUAL -> Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("grpc-handler-", 0).factory());
+            case FIXED -> Executors.newFixedThreadPool(properties.getThreads(),
+                    Thread.ofPlatform().name("grpc-handler-", 0).factory());
+        };
+    }
+
+    @Bean
+    public GrpcServerConfigurer grpcHandlerExecutorConfigurer(ExecutorService grpcHandlerExecutor) {
+        return serverBuilder -> serverBuilder.executor(grpcHandlerExecutor);
+    }
+}
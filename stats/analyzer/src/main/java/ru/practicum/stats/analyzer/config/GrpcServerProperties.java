@@ -0,0 +1,42 @@
+package ru.practicum.stats.analyzer.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ToString
+@ConfigurationProperties(prefix = "analyzer.grpc")
+public class GrpcServerProperties {
+
+    @NotNull(message = "Executor type must not be null")
+    private ExecutorType executor = ExecutorType.VIRTUAL;
+
+    // Размер пула для executor = FIXED
+    @Positive(message = "Executor threads must be positive")
+    private int threads = 32;
+
+    // Одновременных вызовов на один RPC; сумма по RPC не должна превышать пул соединений с БД
+    @Positive(message = "Default concurrency limit must be positive")
+    private int defaultConcurrencyLimit = 8;
+
+    // Лимиты по имени метода, например "stats.service.dashboard.RecommendationsController/GetSimilarEvents"
+    private Map<String, Integer> concurrencyLimits = new HashMap<>();
+
+    // Сколько вызов ждёт свободного слота, прежде чем получить RESOURCE_EXHAUSTED
+    @NotNull(message = "Acquire timeout must not be null")
+    private Duration acquireTimeout = Duration.ofSeconds(1);
+
+    public enum ExecutorType {
+        VIRTUAL,
+        FIXED
+    }
+}
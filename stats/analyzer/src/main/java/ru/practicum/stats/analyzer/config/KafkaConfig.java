@@ -2,11 +2,13 @@ package ru.practicum.stats.analyzer.config;
 
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Properties;
@@ -23,6 +25,9 @@ public class KafkaConfig {
     @NotNull(message = "Event similarity consumer properties must not be null")
     private ConsumerProperties eventSimilarityConsumer = new ConsumerProperties();
 
+    @NotNull(message = "Event lifecycle consumer properties must not be null")
+    private ConsumerProperties eventLifecycleConsumer = new ConsumerProperties();
+
     @NotEmpty(message = "Kafka topics must not be empty")
     private Map<String, String> topics = Collections.emptyMap();
 
@@ -31,11 +36,57 @@ public class KafkaConfig {
     public static class ConsumerProperties {
         @NotNull(message = "Consumer properties must not be null")
         private Properties properties = new Properties();
+
+        // Потоков-консьюмеров в одной группе; больше числа партиций топика ставить бессмысленно
+        @Positive(message = "Workers count must be positive")
+        private int workers = 1;
+
+        @NotNull(message = "Poll timeout must not be null")
+        private Duration pollTimeout = Duration.ofSeconds(1);
+
+        // Как часто воркер фиксирует смещения обработанных записей
+        @NotNull(message = "Commit interval must not be null")
+        private Duration commitInterval = Duration.ofSeconds(1);
+
+        @NotNull(message = "Retry properties must not be null")
+        private RetryProperties retry = new RetryProperties();
+
+        @NotNull(message = "Dead letter properties must not be null")
+        private DeadLetterProperties deadLetter = new DeadLetterProperties();
+    }
+
+    @Getter
+    @Setter
+    public static class RetryProperties {
+        // Всего попыток обработки записи, включая первую
+        @Positive(message = "Max attempts must be positive")
+        private int maxAttempts = 4;
+
+        @NotNull(message = "Initial backoff must not be null")
+        private Duration initialBackoff = Duration.ofMillis(500);
+
+        @NotNull(message = "Max backoff must not be null")
+        private Duration maxBackoff = Duration.ofSeconds(30);
+
+        // Сколько записей воркер держит в повторах, прежде чем приостановить чтение партиций
+        @Positive(message = "Max in-flight retries must be positive")
+        private int maxInFlight = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class DeadLetterProperties {
+        @NotEmpty(message = "Dead letter topic must not be empty")
+        private String topic;
+
+        @NotNull(message = "Dead letter producer properties must not be null")
+        private Properties producerProperties = new Properties();
     }
 
     public enum TopicType {
         USER_ACTIONS("user-actions"),
-        EVENTS_SIMILARITY("events-similarity");
+        EVENTS_SIMILARITY("events-similarity"),
+        EVENT_LIFECYCLE("event-lifecycle");
 
         private final String topicName;
 
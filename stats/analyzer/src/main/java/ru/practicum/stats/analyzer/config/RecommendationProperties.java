@@ -0,0 +1,105 @@
+package ru.practicum.stats.analyzer.config;
+
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ToString
+@ConfigurationProperties(prefix = "analyzer.recommendations")
+public class RecommendationProperties {
+
+    // Сколько ближайших к кандидату просмотренных пользователем событий участвуют в оценке
+    @Positive(message = "Neighbours count must be positive")
+    private int neighbours = 10;
+
+    private CacheSpec cache = new CacheSpec();
+
+    private DecaySpec decay = new DecaySpec();
+
+    private IndexSpec index = new IndexSpec();
+
+    private WarmUpSpec warmUp = new WarmUpSpec();
+
+    private ExclusionSpec exclusion = new ExclusionSpec();
+
+    @Getter
+    @Setter
+    @ToString
+    public static class CacheSpec {
+        private long maximumUsers = 100_000;
+
+        // Ограничивает накопление изменений сходства ниже порога
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+        // Ранжированный список считается не короче этой глубины, чтобы следующие страницы брались из кэша
+        private int minDepth = 50;
+
+        // Изменение сходства пары меньше порога не сбрасывает закэшированные результаты
+        private double similarityThreshold = 0.05;
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class DecaySpec {
+        // За это время вес взаимодействия уменьшается вдвое; 0 отключает затухание
+        private Duration weightHalfLife = Duration.ofDays(30);
+
+        // Период полураспада сходства, отсчитывается от последнего пересчёта пары в агрегаторе
+        private Duration similarityHalfLife = Duration.ofDays(30);
+
+        // Взаимодействия и сходства, затухшие ниже порогов, удаляются при очистке
+        private double minWeight = 0.01;
+
+        private double minSimilarity = 0.01;
+
+        private Duration compactionInterval = Duration.ofHours(1);
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class IndexSpec {
+        // Сколько лучших соседей каждого события держится в памяти; более глубокие запросы идут в базу
+        private int neighbours = 50;
+
+        // Экземпляры читают разные партиции, поэтому индекс и суммы по событиям периодически перечитываются
+        private Duration refreshInterval = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class WarmUpSpec {
+        private boolean enabled = true;
+
+        // Пользователи с последними действиями, на которых прогреваются обработчики RPC
+        private int sampleUsers = 20;
+
+        private int iterations = 50;
+
+        private Duration timeout = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class ExclusionSpec {
+        // Начальная ёмкость фильтра пользователя; при заполнении он пересобирается вдвое больше
+        private int expectedEvents = 256;
+
+        // 10 бит на событие дают около 1% ложноположительных ответов
+        private int bitsPerEvent = 10;
+
+        private long maximumUsers = 100_000;
+
+        // Фильтры, дополненные на других экземплярах, перечитываются не реже этого интервала
+        private Duration expireAfterWrite = Duration.ofMinutes(1);
+    }
+}
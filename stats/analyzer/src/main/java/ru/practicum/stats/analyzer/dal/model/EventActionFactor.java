@@ -0,0 +1,12 @@
+package ru.practicum.stats.analyzer.dal.model;
+
+/**
+ * Множитель затухания действия (или их сумма по событию и типу); вес типа применяется в коде.
+ */
+public interface EventActionFactor {
+    Long getEventId();
+
+    String getActionType();
+
+    Double getFactor();
+}
@@ -0,0 +1,12 @@
+package ru.practicum.stats.analyzer.dal.model;
+
+/**
+ * Сосед события по сходству: пара (event_a, event_b) развёрнута относительно запрошенного события.
+ */
+public interface SimilarityNeighbour {
+    Long getEventId();
+
+    Long getNeighbourId();
+
+    Double getScore();
+}
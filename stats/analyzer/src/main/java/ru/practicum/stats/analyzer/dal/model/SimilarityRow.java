@@ -0,0 +1,16 @@
+package ru.practicum.stats.analyzer.dal.model;
+
+import java.time.Instant;
+
+/**
+ * Строка event_similarities без сущности: для потоковой загрузки индекса в память.
+ */
+public interface SimilarityRow {
+    Long getEventA();
+
+    Long getEventB();
+
+    Double getScore();
+
+    Instant getTimestamp();
+}
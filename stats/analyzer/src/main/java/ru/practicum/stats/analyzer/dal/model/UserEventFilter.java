@@ -0,0 +1,39 @@
+package ru.practicum.stats.analyzer.dal.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Entity
+@Table(name = "user_event_filters")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class UserEventFilter {
+
+    @Id
+    @Column(name = "user_id")
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    private Long userId;
+
+    @NotNull
+    private byte[] bits;
+
+    // Сколько событий добавлено в фильтр; при превышении ёмкости фильтр пересобирается вдвое больше
+    @ToString.Include
+    private int events;
+}
@@ -1,10 +1,94 @@
 package ru.practicum.stats.analyzer.dal.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.stats.analyzer.dal.model.EventSimilarity;
+import ru.practicum.stats.analyzer.dal.model.SimilarityNeighbour;
+import ru.practicum.stats.analyzer.dal.model.SimilarityRow;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface EventSimilarityRepository extends JpaRepository<EventSimilarity, Long> {
-    List<EventSimilarity> findAllByEventAOrEventB(Long eventA, Long eventB);
+
+    // Пара хранится одной строкой (event_a < event_b); более старое значение не затирает свежее.
+    // Возвращает прежнее сходство (0 для новой пары) или null, если запись устарела и не применена
+    @Transactional
+    @Query(value = "WITH previous AS (SELECT score FROM event_similarities WHERE event_a = :eventA AND event_b = :eventB) " +
+            "INSERT INTO event_similarities (event_a, event_b, score, timestamp) " +
+            "VALUES (:eventA, :eventB, :score, :timestamp) " +
+            "ON CONFLICT (event_a, event_b) DO UPDATE " +
+            "SET score = EXCLUDED.score, timestamp = EXCLUDED.timestamp " +
+            "WHERE event_similarities.timestamp <= EXCLUDED.timestamp " +
+            "RETURNING COALESCE((SELECT p.score FROM previous p), 0)", nativeQuery = true)
+    Double upsert(@Param("eventA") Long eventA,
+                  @Param("eventB") Long eventB,
+                  @Param("score") Double score,
+                  @Param("timestamp") Instant timestamp);
+
+    // Каждая ветка UNION ALL идёт по своему индексу (event_a или event_b) вместо OR по двум столбцам;
+    // ROW_NUMBER оставляет не больше limit самых похожих соседей на каждое событие.
+    // Сходство затухает от времени последнего пересчёта пары: score * exp(-lambda * возраст в секундах)
+    @Query(value = "SELECT n.event_id AS \"eventId\", n.neighbour_id AS \"neighbourId\", n.score AS \"score\" " +
+            "FROM (SELECT p.event_id, p.neighbour_id, p.score, " +
+            "             ROW_NUMBER() OVER (PARTITION BY p.event_id ORDER BY p.score DESC, p.neighbour_id) AS rn " +
+            "      FROM (SELECT s.event_a AS event_id, s.event_b AS neighbour_id, " +
+            "                   s.score * EXP(-:lambda * GREATEST(EXTRACT(EPOCH FROM (CAST(:now AS timestamptz) - s.timestamp)), 0)) AS score " +
+            "            FROM event_similarities s WHERE s.event_a IN (:eventIds) " +
+            "            UNION ALL " +
+            "            SELECT s.event_b AS event_id, s.event_a AS neighbour_id, " +
+            "                   s.score * EXP(-:lambda * GREATEST(EXTRACT(EPOCH FROM (CAST(:now AS timestamptz) - s.timestamp)), 0)) AS score " +
+            "            FROM event_similarities s WHERE s.event_b IN (:eventIds)) p) n " +
+            "WHERE n.rn <= :limit " +
+            "ORDER BY n.event_id, n.rn", nativeQuery = true)
+    List<SimilarityNeighbour> findTopNeighbours(@Param("eventIds") Collection<Long> eventIds,
+                                                @Param("limit") int limit,
+                                                @Param("lambda") double lambda,
+                                                @Param("now") Instant now);
+
+    // Сходства между двумя наборами событий; eventId всегда из первого набора
+    @Query(value = "SELECT s.event_a AS \"eventId\", s.event_b AS \"neighbourId\", " +
+            "       s.score * EXP(-:lambda * GREATEST(EXTRACT(EPOCH FROM (CAST(:now AS timestamptz) - s.timestamp)), 0)) AS \"score\" " +
+            "FROM event_similarities s WHERE s.event_a IN (:eventIds) AND s.event_b IN (:neighbourIds) " +
+            "UNION ALL " +
+            "SELECT s.event_b, s.event_a, s.score * EXP(-:lambda * GREATEST(EXTRACT(EPOCH FROM (CAST(:now AS timestamptz) - s.timestamp)), 0)) " +
+            "FROM event_similarities s WHERE s.event_b IN (:eventIds) AND s.event_a IN (:neighbourIds)",
+            nativeQuery = true)
+    List<SimilarityNeighbour> findBetween(@Param("eventIds") Collection<Long> eventIds,
+                                          @Param("neighbourIds") Collection<Long> neighbourIds,
+                                          @Param("lambda") double lambda,
+                                          @Param("now") Instant now);
+
+    // Пары, сходство которых затухло ниже порога; пересчёт в агрегаторе вернёт пару со свежим временем
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM event_similarities s " +
+            "WHERE s.score * EXP(-:lambda * GREATEST(EXTRACT(EPOCH FROM (CAST(:now AS timestamptz) - s.timestamp)), 0)) " +
+            "< :minScore", nativeQuery = true)
+    int deleteDecayed(@Param("lambda") double lambda,
+                      @Param("now") Instant now,
+                      @Param("minScore") double minScore);
+
+    // Переносит в архив все пары с участием события
+    @Modifying
+    @Transactional
+    @Query(value = "WITH moved AS (DELETE FROM event_similarities WHERE event_a = :eventId OR event_b = :eventId " +
+            "RETURNING event_a, event_b, score, timestamp) " +
+            "INSERT INTO event_similarities_archive (event_a, event_b, score, timestamp, archived_at) " +
+            "SELECT event_a, event_b, score, timestamp, :archivedAt FROM moved", nativeQuery = true)
+    int archiveByEventId(@Param("eventId") long eventId, @Param("archivedAt") Instant archivedAt);
+
+    // Курсор с fetch size вместо загрузки всей таблицы; вызывать внутри транзакции
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT s.eventA AS eventA, s.eventB AS eventB, s.score AS score, s.timestamp AS timestamp " +
+            "FROM EventSimilarity s")
+    Stream<SimilarityRow> streamAll();
 }
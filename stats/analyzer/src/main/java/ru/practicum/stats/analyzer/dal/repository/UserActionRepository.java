@@ -1,18 +1,102 @@
 package ru.practicum.stats.analyzer.dal.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.stats.analyzer.dal.model.EventActionFactor;
 import ru.practicum.stats.analyzer.dal.model.UserAction;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 public interface UserActionRepository extends JpaRepository<UserAction, Long> {
-    UserAction findByUserIdAndEventId(Long userId, Long eventId);
+    // Вставка нового действия; 0 — по паре уже есть строка, её сравнивают по весу под блокировкой
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO user_actions (user_id, event_id, action_type, timestamp) " +
+            "VALUES (:userId, :eventId, :actionType, :timestamp) " +
+            "ON CONFLICT (user_id, event_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") long userId,
+                       @Param("eventId") long eventId,
+                       @Param("actionType") String actionType,
+                       @Param("timestamp") Instant timestamp);
 
-    List<UserAction> findAllByEventIdIn(Set<Long> ids);
-
-    List<UserAction> findAllByUserId(Long userId);
+    // Блокировка строки пары: повтор и основной цикл консьюмера не перезаписывают действие друг друга
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM UserAction a WHERE a.userId = :userId AND a.eventId = :eventId")
+    UserAction findForUpdate(@Param("userId") long userId, @Param("eventId") long eventId);
 
     List<UserAction> findAllByUserId(Long userId, PageRequest pageRequest);
+
+    // События с действиями и просмотренные события, действия по которым удалены очисткой
+    @Query(value = "SELECT a.event_id FROM user_actions a WHERE a.user_id = :userId " +
+            "UNION SELECT s.event_id FROM user_seen_events s WHERE s.user_id = :userId", nativeQuery = true)
+    List<Long> findEventIdsByUserId(@Param("userId") long userId);
+
+    @Query(value = "SELECT a.event_id FROM user_actions a WHERE a.user_id = :userId AND a.event_id IN (:eventIds) " +
+            "UNION SELECT s.event_id FROM user_seen_events s WHERE s.user_id = :userId AND s.event_id IN (:eventIds)",
+            nativeQuery = true)
+    List<Long> findInteractedEventIds(@Param("userId") long userId, @Param("eventIds") Collection<Long> eventIds);
+
+    // Множитель затухания каждого действия пользователя, от последних к ранним (idx_user_actions_user_timestamp)
+    @Query(value = "SELECT a.event_id AS \"eventId\", a.action_type AS \"actionType\", " +
+            "EXP(-:lambda * GREATEST(0, EXTRACT(EPOCH FROM (CAST(:now AS timestamptz) - a.timestamp)))) AS \"factor\" " +
+            "FROM user_actions a WHERE a.user_id = :userId ORDER BY a.timestamp DESC", nativeQuery = true)
+    List<EventActionFactor> findUserFactors(@Param("userId") long userId,
+                                            @Param("lambda") double lambda,
+                                            @Param("now") Instant now);
+
+    // Суммы множителей затухания по событию и типу действия на момент now
+    @Query(value = "SELECT a.event_id AS \"eventId\", a.action_type AS \"actionType\", " +
+            "SUM(EXP(-:lambda * GREATEST(0, EXTRACT(EPOCH FROM (CAST(:now AS timestamptz) - a.timestamp))))) AS \"factor\" " +
+            "FROM user_actions a WHERE a.event_id IN (:ids) GROUP BY a.event_id, a.action_type", nativeQuery = true)
+    List<EventActionFactor> sumEventFactors(@Param("ids") Set<Long> ids,
+                                            @Param("lambda") double lambda,
+                                            @Param("now") Instant now);
+
+    // Действия, вес которых затух ниже порога: для каждого типа это просто граница по времени.
+    // Пара остаётся в user_seen_events, чтобы событие не рекомендовалось пользователю повторно
+    @Modifying
+    @Transactional
+    @Query(value = "WITH moved AS (DELETE FROM user_actions WHERE action_type = :actionType AND timestamp < :cutoff " +
+            "RETURNING user_id, event_id) " +
+            "INSERT INTO user_seen_events (user_id, event_id) " +
+            "SELECT user_id, event_id FROM moved ON CONFLICT DO NOTHING", nativeQuery = true)
+    int compactOlderThan(@Param("actionType") String actionType, @Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM user_seen_events WHERE event_id = :eventId", nativeQuery = true)
+    int deleteSeenByEventId(@Param("eventId") long eventId);
+
+    // Переносит действия по событию в архив одним запросом
+    @Modifying
+    @Transactional
+    @Query(value = "WITH moved AS (DELETE FROM user_actions WHERE event_id = :eventId " +
+            "RETURNING user_id, event_id, action_type, timestamp) " +
+            "INSERT INTO user_actions_archive (user_id, event_id, action_type, timestamp, archived_at) " +
+            "SELECT user_id, event_id, action_type, timestamp, :archivedAt FROM moved", nativeQuery = true)
+    int archiveByEventId(@Param("eventId") long eventId, @Param("archivedAt") Instant archivedAt);
+
+    // Суммы exp(lambda * (timestamp - reference)) по событию и типу действия, потоком с fetch size
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = "SELECT a.event_id AS \"eventId\", a.action_type AS \"actionType\", " +
+            "SUM(EXP(:lambda * EXTRACT(EPOCH FROM (a.timestamp - CAST(:reference AS timestamptz))))) AS \"factor\" " +
+            "FROM user_actions a GROUP BY a.event_id, a.action_type", nativeQuery = true)
+    Stream<EventActionFactor> streamEventFactors(@Param("lambda") double lambda, @Param("reference") Instant reference);
+
+    @Query(value = "SELECT a.user_id FROM user_actions a GROUP BY a.user_id ORDER BY MAX(a.timestamp) DESC LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findRecentUserIds(@Param("limit") int limit);
 }
@@ -0,0 +1,27 @@
+package ru.practicum.stats.analyzer.dal.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.stats.analyzer.dal.model.UserEventFilter;
+
+import java.util.Optional;
+
+public interface UserEventFilterRepository extends JpaRepository<UserEventFilter, Long> {
+
+    // Запись фильтра идёт под блокировкой строки: действия одного пользователя могут прийти из основного цикла и из ретраев
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM UserEventFilter f WHERE f.userId = :userId")
+    Optional<UserEventFilter> findForUpdate(@Param("userId") long userId);
+
+    // Фильтр, собранный при чтении, не затирает записанный параллельно обработчиком действий
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO user_event_filters (user_id, bits, events) VALUES (:userId, :bits, :events) " +
+            "ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") long userId, @Param("bits") byte[] bits, @Param("events") int events);
+}
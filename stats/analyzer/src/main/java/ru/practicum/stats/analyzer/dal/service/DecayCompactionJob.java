@@ -0,0 +1,49 @@
+package ru.practicum.stats.analyzer.dal.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.stats.analyzer.dal.model.ActionType;
+import ru.practicum.stats.analyzer.dal.repository.EventSimilarityRepository;
+import ru.practicum.stats.analyzer.dal.repository.UserActionRepository;
+
+import java.time.Instant;
+
+/**
+ * Удаляет взаимодействия и сходства, затухшие ниже порогов. Затухание при чтении их уже почти
+ * не учитывает, а очистка не даёт таблицам расти бесконечно. От удалённого действия остаётся
+ * пара в user_seen_events, поэтому событие по-прежнему исключается из рекомендаций пользователю.
+ * Закэшированные рекомендации доживают до своего TTL.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DecayCompactionJob {
+    private final UserActionRepository userActionRepository;
+    private final EventSimilarityRepository eventSimilarityRepository;
+    private final InteractionDecay decay;
+
+    @Scheduled(fixedDelayString = "${analyzer.recommendations.decay.compaction-interval:1h}",
+            initialDelayString = "${analyzer.recommendations.decay.compaction-interval:1h}")
+    public void compact() {
+        try {
+            Instant now = Instant.now();
+            int actions = 0;
+            for (ActionType actionType : ActionType.values()) {
+                Instant cutoff = decay.weightCutoff(actionType, now);
+                if (cutoff != null) {
+                    actions += userActionRepository.compactOlderThan(actionType.name(), cutoff);
+                }
+            }
+
+            int similarities = decay.similarityLambda() > 0 && decay.minSimilarity() > 0
+                    ? eventSimilarityRepository.deleteDecayed(decay.similarityLambda(), now, decay.minSimilarity())
+                    : 0;
+
+            log.info("Очистка затухших данных: {} действий перенесено в просмотренные, удалено {} сходств", actions, similarities);
+        } catch (Exception e) {
+            log.error("Ошибка очистки затухших данных", e);
+        }
+    }
+}
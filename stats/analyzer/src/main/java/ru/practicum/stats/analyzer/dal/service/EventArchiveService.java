@@ -0,0 +1,8 @@
+package ru.practicum.stats.analyzer.dal.service;
+
+public interface EventArchiveService {
+    /**
+     * Переносит действия и сходства прошедшего или отменённого события в архивные таблицы.
+     */
+    void archiveEvent(long eventId);
+}
@@ -0,0 +1,35 @@
+package ru.practicum.stats.analyzer.dal.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.stats.analyzer.dal.repository.EventSimilarityRepository;
+import ru.practicum.stats.analyzer.dal.repository.UserActionRepository;
+
+import java.time.Instant;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventArchiveServiceImpl implements EventArchiveService {
+    private final UserActionRepository userActionRepository;
+    private final EventSimilarityRepository eventSimilarityRepository;
+    private final RecommendationCache recommendationCache;
+    private final SimilarityIndex similarityIndex;
+    private final InteractionScores interactionScores;
+
+    @Override
+    @Transactional
+    public void archiveEvent(long eventId) {
+        Instant now = Instant.now();
+        int actions = userActionRepository.archiveByEventId(eventId, now);
+        userActionRepository.deleteSeenByEventId(eventId);
+        int similarities = eventSimilarityRepository.archiveByEventId(eventId, now);
+        similarityIndex.evict(eventId);
+        interactionScores.evict(eventId);
+        recommendationCache.onEventEvicted(eventId);
+
+        log.info("Событие {} перенесено в архив: {} действий, {} сходств", eventId, actions, similarities);
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.stats.analyzer.dal.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Фильтр Блума по идентификаторам событий поверх массива байт, который сохраняется в базу как есть.
+ * Ложноотрицательных ответов нет: mightContain == false означает, что события в фильтре точно нет.
+ * Позиции считаются двойным хешированием, поэтому битовая раскладка одинакова на всех экземплярах.
+ */
+final class EventBloomFilter {
+    // 7 хешей при 10 битах на событие дают около 1% ложноположительных ответов
+    private static final int HASHES = 7;
+
+    private final byte[] bits;
+    private final long size;
+
+    private EventBloomFilter(byte[] bits) {
+        this.bits = bits;
+        this.size = bits.length * 8L;
+    }
+
+    static EventBloomFilter of(byte[] bits) {
+        return new EventBloomFilter(bits);
+    }
+
+    static EventBloomFilter withCapacity(int events, int bitsPerEvent) {
+        int bytes = (int) Math.max(8, ((long) events * bitsPerEvent + 7) / 8);
+        return new EventBloomFilter(new byte[bytes]);
+    }
+
+    static EventBloomFilter of(Collection<Long> eventIds, int capacity, int bitsPerEvent) {
+        EventBloomFilter filter = withCapacity(capacity, bitsPerEvent);
+        eventIds.forEach(filter::add);
+        return filter;
+    }
+
+    int capacity(int bitsPerEvent) {
+        return (int) (size / bitsPerEvent);
+    }
+
+    boolean mightContain(long eventId) {
+        long h1 = mix(eventId);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            long position = Long.remainderUnsigned(h1 + i * h2, size);
+            if ((bits[(int) (position >>> 3)] & (1 << (position & 7))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Возвращает true, если фильтр изменился.
+     */
+    boolean add(long eventId) {
+        long h1 = mix(eventId);
+        long h2 = mix(h1) | 1;
+        boolean changed = false;
+        for (int i = 0; i < HASHES; i++) {
+            long position = Long.remainderUnsigned(h1 + i * h2, size);
+            int index = (int) (position >>> 3);
+            byte mask = (byte) (1 << (position & 7));
+            if ((bits[index] & mask) == 0) {
+                bits[index] |= mask;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    byte[] toBytes() {
+        return Arrays.copyOf(bits, bits.length);
+    }
+
+    // Финализатор SplitMix64: соседние идентификаторы расходятся по всему фильтру
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
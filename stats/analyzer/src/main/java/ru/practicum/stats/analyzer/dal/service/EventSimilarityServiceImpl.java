@@ -12,10 +12,19 @@ import ru.practicum.stats.analyzer.mapper.EventSimilarityMapper;
 public class EventSimilarityServiceImpl implements EventSimilarityService {
     private final EventSimilarityRepository repository;
     private final EventSimilarityMapper mapper;
+    private final RecommendationCache recommendationCache;
+    private final SimilarityIndex similarityIndex;
 
     @Override
     public void saveEventSimilarity(EventSimilarityAvro eventSimilarityAvro) {
-        EventSimilarity event = mapper.toEventSimilarity(eventSimilarityAvro);
-        EventSimilarity savedEvent = repository.save(event);
+        EventSimilarity similarity = mapper.toEventSimilarity(eventSimilarityAvro);
+        Double previous = repository.upsert(similarity.getEventA(), similarity.getEventB(),
+                similarity.getScore(), similarity.getTimestamp());
+        if (previous != null) {
+            similarityIndex.onSimilarity(similarity.getEventA(), similarity.getEventB(),
+                    similarity.getScore(), similarity.getTimestamp());
+            recommendationCache.onSimilarityChanged(similarity.getEventA(), similarity.getEventB(),
+                    similarity.getScore() - previous);
+        }
     }
 }
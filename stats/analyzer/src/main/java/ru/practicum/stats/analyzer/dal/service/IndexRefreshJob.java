@@ -0,0 +1,29 @@
+package ru.practicum.stats.analyzer.dal.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Перечитывает индекс сходства и суммы взаимодействий: между загрузками экземпляр видит
+ * только обновления своих партиций, а очистка затухших данных идёт мимо индекса.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndexRefreshJob {
+    private final SimilarityIndex similarityIndex;
+    private final InteractionScores interactionScores;
+
+    @Scheduled(fixedDelayString = "${analyzer.recommendations.index.refresh-interval:5m}",
+            initialDelayString = "${analyzer.recommendations.index.refresh-interval:5m}")
+    public void refresh() {
+        try {
+            similarityIndex.load();
+            interactionScores.load();
+        } catch (Exception e) {
+            log.error("Ошибка перезагрузки индекса рекомендаций", e);
+        }
+    }
+}
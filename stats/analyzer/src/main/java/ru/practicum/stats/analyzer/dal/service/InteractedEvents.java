@@ -0,0 +1,127 @@
+package ru.practicum.stats.analyzer.dal.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.stats.analyzer.config.RecommendationProperties;
+import ru.practicum.stats.analyzer.dal.model.UserEventFilter;
+import ru.practicum.stats.analyzer.dal.repository.UserActionRepository;
+import ru.practicum.stats.analyzer.dal.repository.UserEventFilterRepository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * События, с которыми взаимодействовал пользователь, для исключения из выдачи. Фильтр Блума пользователя
+ * хранится в user_event_filters и кэшируется в памяти; кандидаты, которых в фильтре точно нет, проходят
+ * без запросов, а возможные совпадения подтверждаются точным запросом только по ним.
+ * Фильтр дополняется обработчиком действий; копии в кэше других экземпляров обновляются по истечении
+ * expireAfterWrite, как и закэшированные рекомендации.
+ */
+@Slf4j
+@Component
+public class InteractedEvents {
+    private final UserEventFilterRepository filterRepository;
+    private final UserActionRepository userActionRepository;
+    private final RecommendationProperties.ExclusionSpec spec;
+    private final Cache<Long, EventBloomFilter> byUser;
+    private final EventBloomFilter empty;
+
+    public InteractedEvents(UserEventFilterRepository filterRepository, UserActionRepository userActionRepository,
+                            RecommendationProperties properties) {
+        this.filterRepository = filterRepository;
+        this.userActionRepository = userActionRepository;
+        this.spec = properties.getExclusion();
+        this.byUser = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumUsers())
+                .expireAfterWrite(spec.getExpireAfterWrite())
+                .build();
+        this.empty = EventBloomFilter.withCapacity(1, spec.getBitsPerEvent());
+    }
+
+    /**
+     * Добавляет сохранённое действие в фильтр пользователя. Повторный вызов для того же события
+     * ничего не пишет, поэтому обработка записи из ретрая безопасна.
+     */
+    @Transactional
+    public void add(long userId, long eventId) {
+        EventBloomFilter cached = byUser.getIfPresent(userId);
+        if (cached != null && cached.mightContain(eventId)) {
+            return;
+        }
+
+        UserEventFilter row = filterRepository.findForUpdate(userId).orElse(null);
+        EventBloomFilter filter;
+        if (row == null) {
+            // Действия пользователя до появления фильтра, включая только что сохранённое
+            List<Long> eventIds = userActionRepository.findEventIdsByUserId(userId);
+            filter = build(eventIds);
+            filter.add(eventId);
+            row = UserEventFilter.builder()
+                    .userId(userId)
+                    .bits(filter.toBytes())
+                    .events(eventIds.size())
+                    .build();
+        } else {
+            filter = EventBloomFilter.of(row.getBits());
+            if (filter.mightContain(eventId)) {
+                byUser.put(userId, filter);
+                return;
+            }
+            if (row.getEvents() >= filter.capacity(spec.getBitsPerEvent())) {
+                List<Long> eventIds = userActionRepository.findEventIdsByUserId(userId);
+                filter = build(eventIds);
+                filter.add(eventId);
+                row.setEvents(eventIds.size());
+                log.debug("Фильтр событий пользователя {} пересобран на {} событий", userId, eventIds.size());
+            } else {
+                filter.add(eventId);
+                row.setEvents(row.getEvents() + 1);
+            }
+            row.setBits(filter.toBytes());
+        }
+
+        filterRepository.save(row);
+        byUser.put(userId, filter);
+    }
+
+    /**
+     * Кандидаты, с которыми пользователь точно взаимодействовал.
+     */
+    public Set<Long> interacted(long userId, Collection<Long> candidates) {
+        EventBloomFilter filter = byUser.get(userId, this::load);
+        List<Long> possible = candidates.stream()
+                .filter(filter::mightContain)
+                .distinct()
+                .toList();
+        if (possible.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(userActionRepository.findInteractedEventIds(userId, possible));
+    }
+
+    private EventBloomFilter load(long userId) {
+        UserEventFilter row = filterRepository.findById(userId).orElse(null);
+        if (row != null) {
+            return EventBloomFilter.of(row.getBits());
+        }
+
+        // Пользователь без строки фильтра: действий нет или они сохранены до появления фильтров
+        List<Long> eventIds = userActionRepository.findEventIdsByUserId(userId);
+        if (eventIds.isEmpty()) {
+            return empty;
+        }
+        EventBloomFilter filter = build(eventIds);
+        filterRepository.insertIfAbsent(userId, filter.toBytes(), eventIds.size());
+        return filter;
+    }
+
+    private EventBloomFilter build(Collection<Long> eventIds) {
+        int capacity = Math.max(spec.getExpectedEvents(), eventIds.size() * 2);
+        return EventBloomFilter.of(eventIds, capacity, spec.getBitsPerEvent());
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.stats.analyzer.dal.service;
+
+import org.springframework.stereotype.Component;
+import ru.practicum.stats.analyzer.config.RecommendationProperties;
+import ru.practicum.stats.analyzer.dal.model.ActionType;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Веса действий и их экспоненциальное затухание. В базе хранятся исходный тип действия
+ * и время, а затухание применяется при чтении, поэтому пересчитывать строки не нужно.
+ */
+@Component
+public class InteractionDecay {
+    private static final double VIEW_WEIGHT = 0.4;
+    private static final double REGISTER_WEIGHT = 0.8;
+    private static final double LIKE_WEIGHT = 1.0;
+
+    // Скорости затухания на секунду
+    private final double weightLambda;
+    private final double similarityLambda;
+    private final RecommendationProperties.DecaySpec spec;
+
+    public InteractionDecay(RecommendationProperties properties) {
+        this.spec = properties.getDecay();
+        this.weightLambda = lambda(spec.getWeightHalfLife());
+        this.similarityLambda = lambda(spec.getSimilarityHalfLife());
+    }
+
+    public double weight(ActionType actionType) {
+        return switch (actionType) {
+            case VIEW -> VIEW_WEIGHT;
+            case REGISTER -> REGISTER_WEIGHT;
+            case LIKE -> LIKE_WEIGHT;
+        };
+    }
+
+    public double weight(ActionType actionType, Instant timestamp, Instant now) {
+        return weight(actionType) * Math.exp(-weightLambda * ageSeconds(timestamp, now));
+    }
+
+    /**
+     * Скорость затухания веса действия на секунду.
+     */
+    public double weightLambda() {
+        return weightLambda;
+    }
+
+    /**
+     * Скорость затухания сходства для SQL-запросов: score * exp(-lambda * возраст в секундах).
+     */
+    public double similarityLambda() {
+        return similarityLambda;
+    }
+
+    /**
+     * Действия этого типа старше результата затухли ниже minWeight; null — затухание или очистка отключены.
+     */
+    public Instant weightCutoff(ActionType actionType, Instant now) {
+        if (weightLambda == 0 || spec.getMinWeight() <= 0) {
+            return null;
+        }
+        double ratio = weight(actionType) / spec.getMinWeight();
+        if (ratio <= 1) {
+            return now;
+        }
+        return now.minusSeconds((long) (Math.log(ratio) / weightLambda));
+    }
+
+    public double minSimilarity() {
+        return spec.getMinSimilarity();
+    }
+
+    private static double lambda(Duration halfLife) {
+        return halfLife.isZero() ? 0 : Math.log(2) / halfLife.toSeconds();
+    }
+
+    private static long ageSeconds(Instant timestamp, Instant now) {
+        return Math.max(0, Duration.between(timestamp, now).toSeconds());
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.stats.analyzer.dal.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.stats.analyzer.dal.model.ActionType;
+import ru.practicum.stats.analyzer.dal.model.EventActionFactor;
+import ru.practicum.stats.analyzer.dal.repository.UserActionRepository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Суммарный затухший вес взаимодействий по событию. Как и в агрегаторе, вес действия хранится
+ * с прямым затуханием w * exp(lambda * (timestamp - reference)), поэтому сумма обновляется
+ * прибавлением и вычитанием, а к текущему моменту приводится одним множителем при чтении.
+ * Суммы загружаются агрегатом из базы при старте и периодически, между загрузками учитывают
+ * только действия из партиций этого экземпляра.
+ */
+@Slf4j
+@Component
+public class InteractionScores {
+    private final UserActionRepository repository;
+    private final InteractionDecay decay;
+    private final double lambda;
+    private final Instant reference = Instant.now();
+    private volatile Map<Long, Double> byEvent;
+
+    public InteractionScores(UserActionRepository repository, InteractionDecay decay) {
+        this.repository = repository;
+        this.decay = decay;
+        this.lambda = decay.weightLambda();
+    }
+
+    public boolean isReady() {
+        return byEvent != null;
+    }
+
+    @Transactional(readOnly = true)
+    public void load() {
+        long started = System.currentTimeMillis();
+        Map<Long, Double> loaded = new ConcurrentHashMap<>();
+
+        try (Stream<EventActionFactor> stream = repository.streamEventFactors(lambda, reference)) {
+            stream.forEach(row -> loaded.merge(row.getEventId(),
+                    decay.weight(ActionType.valueOf(row.getActionType())) * row.getFactor(), Double::sum));
+        }
+
+        byEvent = loaded;
+        log.info("Суммы взаимодействий загружены: {} событий за {} мс",
+                loaded.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Действие пользователя сохранено; previousType и previousTimestamp — заменённое действие или null.
+     */
+    public void onActionSaved(long eventId, ActionType previousType, Instant previousTimestamp,
+                              ActionType actionType, Instant timestamp) {
+        Map<Long, Double> current = byEvent;
+        if (current == null) {
+            return;
+        }
+        double delta = forwardWeight(actionType, timestamp);
+        if (previousType != null) {
+            delta -= forwardWeight(previousType, previousTimestamp);
+        }
+        current.merge(eventId, delta, Double::sum);
+    }
+
+    public void evict(long eventId) {
+        Map<Long, Double> current = byEvent;
+        if (current != null) {
+            current.remove(eventId);
+        }
+    }
+
+    /**
+     * Затухшие суммы на момент now; события без взаимодействий в ответ не попадают.
+     */
+    public Map<Long, Double> scores(Collection<Long> eventIds, Instant now) {
+        Map<Long, Double> current = byEvent;
+        double factor = Math.exp(-lambda * secondsSince(reference, now));
+        Map<Long, Double> result = new HashMap<>();
+        for (Long eventId : eventIds) {
+            Double sum = current.get(eventId);
+            if (sum != null && sum > 0) {
+                result.put(eventId, sum * factor);
+            }
+        }
+        return result;
+    }
+
+    private double forwardWeight(ActionType actionType, Instant timestamp) {
+        return decay.weight(actionType) * Math.exp(lambda * secondsSince(reference, timestamp));
+    }
+
+    private static double secondsSince(Instant from, Instant to) {
+        return (to.toEpochMilli() - from.toEpochMilli()) / 1000.0;
+    }
+}
@@ -0,0 +1,191 @@
+package ru.practicum.stats.analyzer.dal.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.stats.analyzer.config.RecommendationProperties;
+import ru.practicum.stats.analyzer.dal.model.SimilarityNeighbour;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Item-based оценка кандидатов: sum(sim * weight) / sum(sim) по K самым похожим событиям,
+ * с которыми пользователь уже взаимодействовал. Сходства раскладываются по кандидатам
+ * в плоские массивы, лучшие N оценок отбираются кучей фиксированного размера.
+ */
+@Component
+@RequiredArgsConstructor
+public class PredictedScoreEngine {
+    private final RecommendationProperties properties;
+
+    /**
+     * @param candidates   события-кандидаты
+     * @param similarities сходства кандидатов (eventId) с событиями пользователя (neighbourId)
+     * @param userWeights  вес взаимодействия пользователя с каждым его событием
+     * @param limit        сколько лучших оценок вернуть
+     * @return оценки по убыванию
+     */
+    public List<ScoredEvent> predict(long[] candidates, List<SimilarityNeighbour> similarities,
+                                     Map<Long, Double> userWeights, int limit) {
+        int candidateCount = candidates.length;
+        if (candidateCount == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        Map<Long, Integer> slots = new HashMap<>(candidateCount * 2);
+        for (int i = 0; i < candidateCount; i++) {
+            slots.put(candidates[i], i);
+        }
+
+        // Первый проход считает сходства каждого кандидата, второй раскладывает их по смещениям
+        int[] offsets = new int[candidateCount + 1];
+        for (SimilarityNeighbour similarity : similarities) {
+            Integer slot = slots.get(similarity.getEventId());
+            if (slot != null && userWeights.containsKey(similarity.getNeighbourId())) {
+                offsets[slot + 1]++;
+            }
+        }
+        for (int i = 0; i < candidateCount; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        double[] scores = new double[offsets[candidateCount]];
+        double[] weights = new double[offsets[candidateCount]];
+        int[] cursor = new int[candidateCount];
+        System.arraycopy(offsets, 0, cursor, 0, candidateCount);
+        for (SimilarityNeighbour similarity : similarities) {
+            Integer slot = slots.get(similarity.getEventId());
+            Double weight = slot != null ? userWeights.get(similarity.getNeighbourId()) : null;
+            if (weight != null) {
+                int position = cursor[slot]++;
+                scores[position] = similarity.getScore();
+                weights[position] = weight;
+            }
+        }
+
+        TopScores top = new TopScores(Math.min(limit, candidateCount));
+        int neighbours = properties.getNeighbours();
+        for (int i = 0; i < candidateCount; i++) {
+            int from = offsets[i];
+            int to = Math.min(offsets[i + 1], from + neighbours);
+            selectLargest(scores, weights, from, offsets[i + 1], to - from);
+
+            double weightedSum = 0;
+            double similaritySum = 0;
+            for (int j = from; j < to; j++) {
+                weightedSum += scores[j] * weights[j];
+                similaritySum += scores[j];
+            }
+            if (similaritySum > 0) {
+                top.offer(candidates[i], weightedSum / similaritySum);
+            }
+        }
+
+        return top.toDescendingList();
+    }
+
+    // Частичная сортировка выбором: k наибольших сходств диапазона переносятся в его начало
+    private static void selectLargest(double[] scores, double[] weights, int from, int to, int k) {
+        if (to - from <= k) {
+            return;
+        }
+        for (int i = from; i < from + k; i++) {
+            int best = i;
+            for (int j = i + 1; j < to; j++) {
+                if (scores[j] > scores[best]) {
+                    best = j;
+                }
+            }
+            swap(scores, i, best);
+            swap(weights, i, best);
+        }
+    }
+
+    private static void swap(double[] values, int i, int j) {
+        double tmp = values[i];
+        values[i] = values[j];
+        values[j] = tmp;
+    }
+
+    public record ScoredEvent(long eventId, double score) {
+    }
+
+    /**
+     * Min-куча фиксированной ёмкости на массивах: в корне худшая из лучших оценок.
+     */
+    private static final class TopScores {
+        private final long[] ids;
+        private final double[] scores;
+        private int size;
+
+        TopScores(int capacity) {
+            this.ids = new long[capacity];
+            this.scores = new double[capacity];
+        }
+
+        void offer(long id, double score) {
+            if (size < ids.length) {
+                ids[size] = id;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (score > scores[0]) {
+                ids[0] = id;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        List<ScoredEvent> toDescendingList() {
+            List<ScoredEvent> result = new ArrayList<>(size);
+            while (size > 0) {
+                result.add(new ScoredEvent(ids[0], scores[0]));
+                size--;
+                ids[0] = ids[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return result.reversed();
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (scores[parent] <= scores[index]) {
+                    return;
+                }
+                exchange(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int smallest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && scores[left] < scores[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && scores[right] < scores[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                exchange(index, smallest);
+                index = smallest;
+            }
+        }
+
+        private void exchange(int i, int j) {
+            long id = ids[i];
+            ids[i] = ids[j];
+            ids[j] = id;
+            double score = scores[i];
+            scores[i] = scores[j];
+            scores[j] = score;
+        }
+    }
+}
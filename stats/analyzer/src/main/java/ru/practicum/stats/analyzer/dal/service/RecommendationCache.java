@@ -0,0 +1,175 @@
+package ru.practicum.stats.analyzer.dal.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.stats.proto.RecommendedEventProto;
+import ru.practicum.stats.analyzer.config.RecommendationProperties;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * Ранжированные результаты рекомендаций по пользователю. Список считается на глубину не меньше
+ * minDepth, поэтому постраничные запросы с растущим maxResults отдаются префиксом из кэша.
+ * Новое действие пользователя сбрасывает все его результаты; заметное изменение сходства пары —
+ * результаты, в которых участвует одно из событий пары; вытеснение события — результаты с ним.
+ * Прогнозы зависят и от событий, с которыми взаимодействовал пользователь: загрузчик возвращает их
+ * как источники, и они тоже попадают в индекс.
+ * Зависящие от события результаты находятся по обратному индексу byEvent, без обхода всего кэша:
+ * обновления сходства приходят в потоке консьюмера на каждую запись.
+ */
+@Slf4j
+@Component
+public class RecommendationCache {
+    private final Cache<Long, Map<Key, Ranked>> byUser;
+    // Событие -> закэшированные списки, которые его запрашивают или содержат
+    private final Map<Long, Set<Ref>> byEvent = new ConcurrentHashMap<>();
+    private final RecommendationProperties.CacheSpec spec;
+
+    public RecommendationCache(RecommendationProperties properties) {
+        this.spec = properties.getCache();
+        this.byUser = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumUsers())
+                .expireAfterWrite(spec.getExpireAfterWrite())
+                .removalListener((Long userId, Map<Key, Ranked> entries, RemovalCause cause) -> {
+                    if (userId != null && entries != null) {
+                        entries.forEach((key, ranked) -> unregister(userId, key, ranked));
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Возвращает первые limit результатов, при промахе вычисляя список загрузчиком на нужную глубину.
+     */
+    public List<RecommendedEventProto> get(long userId, Kind kind, long eventId, int limit,
+                                           IntFunction<Computed> loader) {
+        Map<Key, Ranked> entries = byUser.get(userId, id -> new ConcurrentHashMap<>());
+        Key key = new Key(kind, eventId);
+
+        Ranked cached = entries.get(key);
+        if (cached != null && cached.covers(limit)) {
+            return cached.prefix(limit);
+        }
+
+        int depth = Math.max(limit, cached != null ? cached.depth() * 2 : spec.getMinDepth());
+        Computed result = loader.apply(depth);
+        Ranked computed = new Ranked(result.items(), depth, result.sources());
+        // Если пользователя сбросили во время вычисления, запись попадёт в уже отвязанную карту
+        Ranked replaced = entries.put(key, computed);
+        if (replaced != null) {
+            unregister(userId, key, replaced);
+        }
+        if (byUser.getIfPresent(userId) == entries) {
+            register(userId, key, computed);
+        }
+        return computed.prefix(limit);
+    }
+
+    public void invalidateUser(long userId) {
+        byUser.invalidate(userId);
+    }
+
+    /**
+     * Сбрасывает результаты, зависящие от пары событий, если сходство изменилось не меньше порога.
+     */
+    public void onSimilarityChanged(long eventA, long eventB, double delta) {
+        if (Math.abs(delta) < spec.getSimilarityThreshold()) {
+            return;
+        }
+        log.debug("Сходство {}-{} изменилось на {}, сбрасываем зависящие результаты", eventA, eventB, delta);
+        evictDependent(eventA);
+        evictDependent(eventB);
+    }
+
+    /**
+     * Событие вытеснено: сбрасываем результаты, где оно запрошено или присутствует в выдаче.
+     */
+    public void onEventEvicted(long eventId) {
+        evictDependent(eventId);
+    }
+
+    private void evictDependent(long eventId) {
+        Set<Ref> refs = byEvent.remove(eventId);
+        if (refs == null) {
+            return;
+        }
+        for (Ref ref : refs) {
+            Map<Key, Ranked> entries = byUser.getIfPresent(ref.userId());
+            if (entries == null) {
+                continue;
+            }
+            Ranked removed = entries.remove(ref.key());
+            if (removed != null) {
+                unregister(ref.userId(), ref.key(), removed);
+            }
+        }
+    }
+
+    private void register(long userId, Key key, Ranked ranked) {
+        Ref ref = new Ref(userId, key);
+        for (long eventId : ranked.eventIds(key)) {
+            byEvent.computeIfAbsent(eventId, id -> ConcurrentHashMap.newKeySet()).add(ref);
+        }
+    }
+
+    private void unregister(long userId, Key key, Ranked ranked) {
+        Ref ref = new Ref(userId, key);
+        for (long eventId : ranked.eventIds(key)) {
+            byEvent.computeIfPresent(eventId, (id, refs) -> {
+                refs.remove(ref);
+                return refs.isEmpty() ? null : refs;
+            });
+        }
+    }
+
+    /**
+     * Результат загрузчика: ранжированный список и события, от сходства с которыми он посчитан.
+     */
+    public record Computed(List<RecommendedEventProto> items, Set<Long> sources) {
+        public static Computed of(List<RecommendedEventProto> items) {
+            return new Computed(items, Set.of());
+        }
+    }
+
+    public enum Kind {
+        USER_PREDICTIONS,
+        SIMILAR_EVENTS
+    }
+
+    private record Key(Kind kind, long eventId) {
+    }
+
+    private record Ref(long userId, Key key) {
+    }
+
+    private record Ranked(List<RecommendedEventProto> items, int depth, Set<Long> sources) {
+        // Список короче глубины — кандидатов больше нет, он полный для любого limit
+        boolean covers(int limit) {
+            return limit <= depth || items.size() < depth;
+        }
+
+        List<RecommendedEventProto> prefix(int limit) {
+            return items.size() <= limit ? items : items.subList(0, limit);
+        }
+
+        // События, от которых зависит список: запрошенное, источники и все выданные
+        Set<Long> eventIds(Key key) {
+            Set<Long> eventIds = new HashSet<>(sources);
+            if (key.kind() == Kind.SIMILAR_EVENTS) {
+                eventIds.add(key.eventId());
+            }
+            for (RecommendedEventProto item : items) {
+                eventIds.add(item.getEventId());
+            }
+            return eventIds;
+        }
+    }
+}
@@ -2,78 +2,100 @@ package ru.practicum.stats.analyzer.dal.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.ewm.stats.proto.InteractionsCountRequestProto;
 import ru.practicum.ewm.stats.proto.RecommendedEventProto;
 import ru.practicum.ewm.stats.proto.SimilarEventsRequestProto;
 import ru.practicum.ewm.stats.proto.UserPredictionsRequestProto;
 import ru.practicum.stats.analyzer.dal.model.ActionType;
-import ru.practicum.stats.analyzer.dal.model.EventSimilarity;
-import ru.practicum.stats.analyzer.dal.model.UserAction;
-import ru.practicum.stats.analyzer.dal.repository.EventSimilarityRepository;
+import ru.practicum.stats.analyzer.dal.model.EventActionFactor;
+import ru.practicum.stats.analyzer.dal.model.SimilarityNeighbour;
 import ru.practicum.stats.analyzer.dal.repository.UserActionRepository;
 
-import java.util.ArrayList;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.LinkedHashSet;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class RecommendationServiceImpl implements RecommendationService {
-    private static final double VIEW_WEIGHT = 0.4;
-    private static final double REGISTER_WEIGHT = 0.8;
-    private static final double LIKE_WEIGHT = 1.0;
-
-    private final EventSimilarityRepository eventSimilarityRepository;
     private final UserActionRepository userActionRepository;
+    private final PredictedScoreEngine predictedScoreEngine;
+    private final RecommendationCache recommendationCache;
+    private final InteractionDecay decay;
+    private final SimilarityIndex similarityIndex;
+    private final InteractionScores interactionScores;
+    private final InteractedEvents interactedEvents;
 
     @Override
     public List<RecommendedEventProto> getRecommendationsForUser(UserPredictionsRequestProto request) {
         Objects.requireNonNull(request, "Request cannot be null");
         log.debug("Рекомендации для userId={}", request.getUserId());
 
-        Long userId = request.getUserId();
+        long userId = request.getUserId();
         int maxResults = Math.max(1, request.getMaxResults());
 
-        PageRequest pageRequest = PageRequest.of(0, maxResults, Sort.by(Sort.Direction.DESC, "timestamp"));
-        List<UserAction> interactions = userActionRepository.findAllByUserId(userId, pageRequest);
+        return recommendationCache.get(userId, RecommendationCache.Kind.USER_PREDICTIONS, 0, maxResults,
+                depth -> predictForUser(userId, depth));
+    }
 
+    private RecommendationCache.Computed predictForUser(long userId, int maxResults) {
+        Instant now = Instant.now();
+        List<EventActionFactor> interactions =
+                userActionRepository.findUserFactors(userId, decay.weightLambda(), now);
         if (interactions.isEmpty()) {
-            return Collections.emptyList();
+            return RecommendationCache.Computed.of(Collections.emptyList());
         }
 
-        Set<Long> recentEvents = interactions.stream()
-                .map(UserAction::getEventId)
-                .collect(Collectors.toCollection(LinkedHashSet::new));
+        // Строки идут от последних действий к ранним
+        Map<Long, Double> userWeights = new LinkedHashMap<>();
+        for (EventActionFactor action : interactions) {
+            userWeights.merge(action.getEventId(), weight(action), Math::max);
+        }
+
+        // Кандидаты — ближайшие соседи последних событий пользователя, которых он ещё не видел
+        List<Long> recentEvents = userWeights.keySet().stream()
+                .limit(maxResults)
+                .toList();
 
-        Set<Long> allUserEvents = interactions.stream()
-                .map(UserAction::getEventId)
-                .collect(Collectors.toSet());
+        List<SimilarityNeighbour> neighbours =
+                similarityIndex.topNeighbours(recentEvents, maxResults + userWeights.size(), now);
 
-        List<EventSimilarity> similarities = new ArrayList<>();
-        for (Long eventId : recentEvents) {
-            similarities.addAll(eventSimilarityRepository.findAllByEventAOrEventB(eventId, eventId));
+        Map<Long, Double> candidateSimilarity = new HashMap<>();
+        for (SimilarityNeighbour neighbour : neighbours) {
+            if (!userWeights.containsKey(neighbour.getNeighbourId())) {
+                candidateSimilarity.merge(neighbour.getNeighbourId(), neighbour.getScore(), Math::max);
+            }
         }
 
-        return similarities.stream()
-                .filter(sim -> !(allUserEvents.contains(sim.getEventA()) && allUserEvents.contains(sim.getEventB())))
-                .sorted(Comparator.comparing(EventSimilarity::getScore).reversed())
+        long[] candidates = candidateSimilarity.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
                 .limit(maxResults)
-                .map(sim -> {
-                    Long recommendedEventId = allUserEvents.contains(sim.getEventA()) ? sim.getEventB() : sim.getEventA();
-                    return createRecommendedEvent(recommendedEventId, sim.getScore());
-                })
-                .toList();
+                .mapToLong(Map.Entry::getKey)
+                .toArray();
+
+        // Прогноз зависит от сходства кандидатов со всеми событиями пользователя
+        Set<Long> sources = Set.copyOf(userWeights.keySet());
+        if (candidates.length == 0) {
+            return new RecommendationCache.Computed(Collections.emptyList(), sources);
+        }
+
+        List<SimilarityNeighbour> candidateSimilarities = similarityIndex.between(
+                Arrays.stream(candidates).boxed().toList(), userWeights.keySet(), now);
+
+        List<RecommendedEventProto> predicted =
+                predictedScoreEngine.predict(candidates, candidateSimilarities, userWeights, maxResults).stream()
+                        .map(scored -> createRecommendedEvent(scored.eventId(), scored.score()))
+                        .toList();
+        return new RecommendationCache.Computed(predicted, sources);
     }
 
     @Override
@@ -81,25 +103,34 @@ public class RecommendationServiceImpl implements RecommendationService {
         Objects.requireNonNull(request, "Request cannot be null");
         log.debug("Похожие события для eventId={}", request.getEventId());
 
-        Long userId = request.getUserId();
-        Long eventId = request.getEventId();
+        long userId = request.getUserId();
+        long eventId = request.getEventId();
         int limit = Math.max(1, request.getMaxResults());
 
-        Set<Long> interacted = userActionRepository.findAllByUserId(userId).stream()
-                .map(UserAction::getEventId)
-                .collect(Collectors.toSet());
-
-        List<EventSimilarity> similar = eventSimilarityRepository.findAllByEventAOrEventB(eventId, eventId);
+        return recommendationCache.get(userId, RecommendationCache.Kind.SIMILAR_EVENTS, eventId, limit,
+                depth -> findSimilarForUser(userId, eventId, depth));
+    }
 
-        return similar.stream()
-                .filter(sim -> !interacted.contains(sim.getEventA()) || !interacted.contains(sim.getEventB()))
-                .sorted(Comparator.comparing(EventSimilarity::getScore).reversed())
-                .limit(limit)
-                .map(sim -> {
-                    Long recommendedEventId = sim.getEventA().equals(eventId) ? sim.getEventB() : sim.getEventA();
-                    return createRecommendedEvent(recommendedEventId, sim.getScore());
-                })
-                .toList();
+    private RecommendationCache.Computed findSimilarForUser(long userId, long eventId, int limit) {
+        Instant now = Instant.now();
+        int depth = limit * 2;
+        while (true) {
+            List<SimilarityNeighbour> similar = similarityIndex.topNeighbours(List.of(eventId), depth, now);
+            Set<Long> interacted = interactedEvents.interacted(userId,
+                    similar.stream().map(SimilarityNeighbour::getNeighbourId).toList());
+
+            List<RecommendedEventProto> result = similar.stream()
+                    .filter(neighbour -> !interacted.contains(neighbour.getNeighbourId()))
+                    .limit(limit)
+                    .map(neighbour -> createRecommendedEvent(neighbour.getNeighbourId(), neighbour.getScore()))
+                    .toList();
+
+            // Соседей меньше глубины — больше кандидатов нет
+            if (result.size() >= limit || similar.size() < depth) {
+                return RecommendationCache.Computed.of(result);
+            }
+            depth *= 2;
+        }
     }
 
     @Override
@@ -112,15 +143,27 @@ public class RecommendationServiceImpl implements RecommendationService {
             return Collections.emptyList();
         }
 
-        Map<Long, Double> eventScore = userActionRepository.findAllByEventIdIn(eventIds).stream()
-                .collect(Collectors.groupingBy(UserAction::getEventId,
-                        Collectors.summingDouble(action -> convertTypeActionToWeight(action.getActionType()))));
+        Instant now = Instant.now();
+        if (interactionScores.isReady()) {
+            return interactionScores.scores(eventIds, now).entrySet().stream()
+                    .map(el -> createRecommendedEvent(el.getKey(), el.getValue()))
+                    .toList();
+        }
+
+        Map<Long, Double> eventScore = new HashMap<>();
+        for (EventActionFactor factor : userActionRepository.sumEventFactors(eventIds, decay.weightLambda(), now)) {
+            eventScore.merge(factor.getEventId(), weight(factor), Double::sum);
+        }
 
         return eventScore.entrySet().stream()
                 .map(el -> createRecommendedEvent(el.getKey(), el.getValue()))
                 .toList();
     }
 
+    private double weight(EventActionFactor factor) {
+        return decay.weight(ActionType.valueOf(factor.getActionType())) * factor.getFactor();
+    }
+
     private RecommendedEventProto createRecommendedEvent(Long eventId, Double score) {
         return RecommendedEventProto.newBuilder()
                 .setEventId(eventId)
@@ -128,12 +171,4 @@ public class RecommendationServiceImpl implements RecommendationService {
                 .build();
     }
 
-
-    private Double convertTypeActionToWeight(ActionType actionType) {
-        return switch (actionType) {
-            case VIEW -> VIEW_WEIGHT;
-            case REGISTER -> REGISTER_WEIGHT;
-            case LIKE -> LIKE_WEIGHT;
-        };
-    }
 }
\ No newline at end of file
@@ -0,0 +1,268 @@
+package ru.practicum.stats.analyzer.dal.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.stats.analyzer.config.RecommendationProperties;
+import ru.practicum.stats.analyzer.dal.model.SimilarityNeighbour;
+import ru.practicum.stats.analyzer.dal.model.SimilarityRow;
+import ru.practicum.stats.analyzer.dal.repository.EventSimilarityRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Лучшие соседи каждого события в памяти. Соседи упорядочены по score * exp(lambda * (timestamp - reference)):
+ * этот ключ не зависит от текущего времени и упорядочивает пары так же, как затухшее сходство
+ * в любой момент, поэтому список не нужно пересортировывать со временем.
+ * Индекс загружается из базы при старте и периодически; между загрузками он получает только
+ * обновления из партиций этого экземпляра. Если список события мог потерять соседей глубже
+ * capacity, запросы большей глубины и пары, которых нет в неполных списках, идут в базу.
+ */
+@Slf4j
+@Component
+public class SimilarityIndex {
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::key).reversed()
+            .thenComparingLong(Entry::neighbourId);
+
+    private final EventSimilarityRepository repository;
+    private final double lambda;
+    private final Instant reference = Instant.now();
+    private final int capacity;
+    private volatile Map<Long, Neighbours> byEvent;
+
+    public SimilarityIndex(EventSimilarityRepository repository, InteractionDecay decay,
+                           RecommendationProperties properties) {
+        this.repository = repository;
+        this.lambda = decay.similarityLambda();
+        this.capacity = properties.getIndex().getNeighbours();
+    }
+
+    public boolean isReady() {
+        return byEvent != null;
+    }
+
+    /**
+     * Перечитывает таблицу сходств курсором и атомарно подменяет индекс.
+     */
+    @Transactional(readOnly = true)
+    public void load() {
+        long started = System.currentTimeMillis();
+        Map<Long, Neighbours> loaded = new ConcurrentHashMap<>();
+        long rows = 0;
+
+        try (Stream<SimilarityRow> stream = repository.streamAll()) {
+            for (SimilarityRow row : (Iterable<SimilarityRow>) stream::iterator) {
+                put(loaded, row.getEventA(), row.getEventB(), row.getScore(), row.getTimestamp());
+                rows++;
+            }
+        }
+
+        byEvent = loaded;
+        log.info("Индекс сходства загружен: {} пар, {} событий за {} мс",
+                rows, loaded.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Применяет сохранённое в базе сходство пары.
+     */
+    public void onSimilarity(long eventA, long eventB, double score, Instant timestamp) {
+        Map<Long, Neighbours> current = byEvent;
+        if (current != null) {
+            put(current, eventA, eventB, score, timestamp);
+        }
+    }
+
+    public void evict(long eventId) {
+        Map<Long, Neighbours> current = byEvent;
+        if (current == null) {
+            return;
+        }
+        // Список самого события хранит не всех соседей, поэтому событие убирается из всех списков
+        current.remove(eventId);
+        current.values().forEach(neighbours -> neighbours.remove(eventId));
+    }
+
+    /**
+     * Не больше limit соседей каждого события с затухшим сходством, как findTopNeighbours.
+     * События, которые индекс не может обслужить на такую глубину, читаются из базы.
+     */
+    public List<SimilarityNeighbour> topNeighbours(Collection<Long> eventIds, int limit, Instant now) {
+        Map<Long, Neighbours> current = byEvent;
+        if (current == null) {
+            return repository.findTopNeighbours(eventIds, limit, lambda, now);
+        }
+
+        double decay = Math.exp(-lambda * secondsSince(reference, now));
+        List<SimilarityNeighbour> result = new ArrayList<>();
+        List<Long> fallback = new ArrayList<>();
+
+        for (Long eventId : eventIds.stream().distinct().sorted().toList()) {
+            Neighbours neighbours = current.get(eventId);
+            if (neighbours == null) {
+                continue;
+            }
+            List<Entry> top = neighbours.top(limit);
+            if (top == null) {
+                fallback.add(eventId);
+                continue;
+            }
+            for (Entry entry : top) {
+                result.add(new IndexedNeighbour(eventId, entry.neighbourId(), entry.key() * decay));
+            }
+        }
+
+        if (!fallback.isEmpty()) {
+            result.addAll(repository.findTopNeighbours(fallback, limit, lambda, now));
+        }
+        return result;
+    }
+
+    /**
+     * Затухшие сходства между двумя наборами событий, как findBetween. Пара берётся из списка любого
+     * из двух событий; отсутствие пары доказывает только полный список. Остальные пары читаются из базы.
+     */
+    public List<SimilarityNeighbour> between(Collection<Long> eventIds, Collection<Long> neighbourIds, Instant now) {
+        Map<Long, Neighbours> current = byEvent;
+        if (current == null) {
+            return repository.findBetween(eventIds, neighbourIds, lambda, now);
+        }
+
+        double decay = Math.exp(-lambda * secondsSince(reference, now));
+        List<SimilarityNeighbour> result = new ArrayList<>();
+        Set<Pair> unresolved = new HashSet<>();
+
+        for (Long eventId : Set.copyOf(eventIds)) {
+            Neighbours own = current.get(eventId);
+            for (Long neighbourId : Set.copyOf(neighbourIds)) {
+                if (eventId.equals(neighbourId)) {
+                    continue;
+                }
+                Neighbours other = current.get(neighbourId);
+                Double key = own != null ? own.key(neighbourId) : null;
+                if (key == null && other != null) {
+                    key = other.key(eventId);
+                }
+                if (key != null) {
+                    result.add(new IndexedNeighbour(eventId, neighbourId, key * decay));
+                } else if (!isComplete(own) && !isComplete(other)) {
+                    unresolved.add(new Pair(eventId, neighbourId));
+                }
+            }
+        }
+
+        if (!unresolved.isEmpty()) {
+            Set<Long> fallbackEvents = new HashSet<>();
+            Set<Long> fallbackNeighbours = new HashSet<>();
+            unresolved.forEach(pair -> {
+                fallbackEvents.add(pair.eventId());
+                fallbackNeighbours.add(pair.neighbourId());
+            });
+            log.debug("Сходства {} пар не обслужены индексом, читаем из базы", unresolved.size());
+            repository.findBetween(fallbackEvents, fallbackNeighbours, lambda, now).stream()
+                    .filter(row -> unresolved.contains(new Pair(row.getEventId(), row.getNeighbourId())))
+                    .forEach(result::add);
+        }
+        return result;
+    }
+
+    // Нет списка — у события нет сохранённых пар
+    private static boolean isComplete(Neighbours neighbours) {
+        return neighbours == null || neighbours.isExhaustive();
+    }
+
+    private void put(Map<Long, Neighbours> index, long eventA, long eventB, double score, Instant timestamp) {
+        double key = score * Math.exp(lambda * secondsSince(reference, timestamp));
+        index.computeIfAbsent(eventA, id -> new Neighbours(capacity)).put(new Entry(eventB, key));
+        index.computeIfAbsent(eventB, id -> new Neighbours(capacity)).put(new Entry(eventA, key));
+    }
+
+    private static double secondsSince(Instant from, Instant to) {
+        return (to.toEpochMilli() - from.toEpochMilli()) / 1000.0;
+    }
+
+    private record Entry(long neighbourId, double key) {
+    }
+
+    private record Pair(long eventId, long neighbourId) {
+    }
+
+    private record IndexedNeighbour(Long eventId, Long neighbourId, Double score) implements SimilarityNeighbour {
+        @Override
+        public Long getEventId() {
+            return eventId;
+        }
+
+        @Override
+        public Long getNeighbourId() {
+            return neighbourId;
+        }
+
+        @Override
+        public Double getScore() {
+            return score;
+        }
+    }
+
+    private static final class Neighbours {
+        private final int capacity;
+        private final List<Entry> entries = new ArrayList<>();
+        // Список содержит всех соседей события из базы, а не только лучшие capacity
+        private boolean exhaustive = true;
+
+        private Neighbours(int capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized void put(Entry entry) {
+            entries.removeIf(existing -> existing.neighbourId() == entry.neighbourId());
+
+            int position = 0;
+            while (position < entries.size() && ORDER.compare(entries.get(position), entry) < 0) {
+                position++;
+            }
+            if (position >= capacity) {
+                exhaustive = false;
+                return;
+            }
+            entries.add(position, entry);
+            if (entries.size() > capacity) {
+                entries.remove(entries.size() - 1);
+                exhaustive = false;
+            }
+        }
+
+        synchronized Double key(long neighbourId) {
+            for (Entry entry : entries) {
+                if (entry.neighbourId() == neighbourId) {
+                    return entry.key();
+                }
+            }
+            return null;
+        }
+
+        synchronized boolean isExhaustive() {
+            return exhaustive;
+        }
+
+        synchronized void remove(long neighbourId) {
+            entries.removeIf(existing -> existing.neighbourId() == neighbourId);
+        }
+
+        // null — список мог потерять соседей глубже limit
+        synchronized List<Entry> top(int limit) {
+            if (!exhaustive && entries.size() < limit) {
+                return null;
+            }
+            return List.copyOf(entries.subList(0, Math.min(limit, entries.size())));
+        }
+    }
+}
@@ -3,24 +3,31 @@ package ru.practicum.stats.analyzer.dal.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.ewm.stats.avro.UserActionAvro;
-import ru.practicum.stats.analyzer.dal.model.ActionType;
 import ru.practicum.stats.analyzer.dal.model.UserAction;
 import ru.practicum.stats.analyzer.dal.repository.UserActionRepository;
 import ru.practicum.stats.analyzer.mapper.UserActionMapper;
 
+import java.time.Instant;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserActionServiceImpl implements UserActionService {
-    private static final double VIEW_WEIGHT = 0.4;
-    private static final double REGISTER_WEIGHT = 0.8;
-    private static final double LIKE_WEIGHT = 1.0;
-
     private final UserActionRepository repository;
     private final UserActionMapper mapper;
+    private final RecommendationCache recommendationCache;
+    private final InteractionDecay decay;
+    private final InteractionScores interactionScores;
+    private final InteractedEvents interactedEvents;
 
+    /**
+     * Вставка и замена идут в одной транзакции под блокировкой строки пары, а уникальный индекс
+     * (user_id, event_id) не даёт повтору и основному циклу консьюмера вставить дубль.
+     */
     @Override
+    @Transactional
     public void saveUserAction(UserActionAvro newUserAction) {
 
         log.info("Сохранение действия: userId={}, eventId={}, action={}",
@@ -28,34 +35,46 @@ public class UserActionServiceImpl implements UserActionService {
                 newUserAction.getEventId(),
                 newUserAction.getActionType());
 
-        UserAction existing = repository.findByUserIdAndEventId(newUserAction.getUserId(), newUserAction.getEventId());
-
         UserAction incoming = mapper.toUserAction(newUserAction);
 
+        int inserted = repository.insertIfAbsent(incoming.getUserId(), incoming.getEventId(),
+                incoming.getActionType().name(), incoming.getTimestamp());
+        if (inserted > 0) {
+            recommendationCache.invalidateUser(incoming.getUserId());
+            interactionScores.onActionSaved(incoming.getEventId(), null, null,
+                    incoming.getActionType(), incoming.getTimestamp());
+            interactedEvents.add(incoming.getUserId(), incoming.getEventId());
+            return;
+        }
+
+        UserAction existing = repository.findForUpdate(incoming.getUserId(), incoming.getEventId());
         if (existing == null) {
-            repository.save(incoming);
+            // Строку пары успели перенести в архив вместе с событием
+            log.debug("Действие userId={}, eventId={} уже в архиве", incoming.getUserId(), incoming.getEventId());
             return;
         }
 
-        Double oldWeight = convertTypeActionToWeight(existing.getActionType());
-        Double newWeight = convertTypeActionToWeight(incoming.getActionType());
+        // Действие уже в базе; повторная запись из ретрая дополняет фильтр, если прошлая попытка упала до этого
+        interactedEvents.add(existing.getUserId(), existing.getEventId());
+
+        // Веса сравниваются с учётом давности, как в агрегаторе: свежий просмотр может заменить давний лайк
+        Instant now = incoming.getTimestamp().isAfter(existing.getTimestamp())
+                ? incoming.getTimestamp() : existing.getTimestamp();
+        double oldWeight = decay.weight(existing.getActionType(), existing.getTimestamp(), now);
+        double newWeight = decay.weight(incoming.getActionType(), incoming.getTimestamp(), now);
 
         if (newWeight >= oldWeight) {
+            interactionScores.onActionSaved(existing.getEventId(), existing.getActionType(), existing.getTimestamp(),
+                    incoming.getActionType(), incoming.getTimestamp());
             existing.setActionType(incoming.getActionType());
             existing.setTimestamp(incoming.getTimestamp());
             repository.save(existing);
+            recommendationCache.invalidateUser(existing.getUserId());
             log.info("Сохранили в бд действие с большим весом: {}", existing);
+            return;
         }
 
         log.debug("Вес недостаточен для обновления: oldWeight={}, newWeight={}",
                 oldWeight, newWeight);
     }
-
-    private Double convertTypeActionToWeight(ActionType actionType) {
-        return switch (actionType) {
-            case VIEW -> VIEW_WEIGHT;
-            case REGISTER -> REGISTER_WEIGHT;
-            case LIKE -> LIKE_WEIGHT;
-        };
-    }
 }
@@ -1,24 +1,73 @@
 package ru.practicum.stats.analyzer.service;
 
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.specific.SpecificRecordBase;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import ru.practicum.stats.analyzer.config.KafkaConfig;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Запускает воркеры консьюмеров: по analyzer.kafka.*.workers потоков на топик в одной группе.
+ * Стартует после {@link AnalyzerWarmUp}, чтобы обновления не шли в индекс во время его загрузки.
+ */
+@Slf4j
 @Component
-@AllArgsConstructor
-public class AnalyzerRunner implements CommandLineRunner {
-    final UserActionProcessor userActionProcessor;
-    final EventSimilarityProcessor eventSimilarityProcessor;
+@Order(1)
+@RequiredArgsConstructor
+public class AnalyzerRunner implements CommandLineRunner, DisposableBean {
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    private final KafkaConfig config;
+    private final UserActionProcessor userActionProcessor;
+    private final EventSimilarityProcessor eventSimilarityProcessor;
+    private final EventLifecycleProcessor eventLifecycleProcessor;
+
+    private final List<ConsumerWorker<?, ?>> workers = new ArrayList<>();
+    private final List<Thread> threads = new ArrayList<>();
 
     @Override
-    public void run(String... args) throws Exception {
-        Thread userActionThread = new Thread(userActionProcessor, "UserActionHandlerThread");
-        Thread eventSimilarityThread = new Thread(eventSimilarityProcessor, "EventSimilarityThread");
+    public void run(String... args) {
+        KafkaConfig.ConsumerProperties userActions = config.getUserActionsConsumer();
+        for (int i = 0; i < userActions.getWorkers(); i++) {
+            start("user-actions-" + i, new ConsumerWorker<Long, SpecificRecordBase>("user-actions-" + i,
+                    config.getTopic(KafkaConfig.TopicType.USER_ACTIONS), userActions, userActionProcessor));
+        }
 
-        userActionThread.setDaemon(true);
-        eventSimilarityThread.setDaemon(true);
+        KafkaConfig.ConsumerProperties similarity = config.getEventSimilarityConsumer();
+        for (int i = 0; i < similarity.getWorkers(); i++) {
+            start("event-similarity-" + i, new ConsumerWorker<String, SpecificRecordBase>("event-similarity-" + i,
+                    config.getTopic(KafkaConfig.TopicType.EVENTS_SIMILARITY), similarity, eventSimilarityProcessor));
+        }
+
+        KafkaConfig.ConsumerProperties lifecycle = config.getEventLifecycleConsumer();
+        for (int i = 0; i < lifecycle.getWorkers(); i++) {
+            start("event-lifecycle-" + i, new ConsumerWorker<Long, SpecificRecordBase>("event-lifecycle-" + i,
+                    config.getTopic(KafkaConfig.TopicType.EVENT_LIFECYCLE), lifecycle, eventLifecycleProcessor));
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        log.info("Останавливаем {} воркеров консьюмеров", workers.size());
+        workers.forEach(ConsumerWorker::stop);
+
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MS;
+        for (Thread thread : threads) {
+            thread.join(Math.max(1, deadline - System.currentTimeMillis()));
+        }
+    }
 
-        userActionThread.start();
-        eventSimilarityThread.start();
+    private void start(String name, ConsumerWorker<?, ?> worker) {
+        Thread thread = new Thread(worker, name);
+        thread.setDaemon(true);
+        workers.add(worker);
+        threads.add(thread);
+        thread.start();
     }
 }
@@ -0,0 +1,130 @@
+package ru.practicum.stats.analyzer.service;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.stats.proto.InteractionsCountRequestProto;
+import ru.practicum.ewm.stats.proto.RecommendedEventProto;
+import ru.practicum.ewm.stats.proto.SimilarEventsRequestProto;
+import ru.practicum.ewm.stats.proto.UserPredictionsRequestProto;
+import ru.practicum.stats.analyzer.config.RecommendationProperties;
+import ru.practicum.stats.analyzer.controller.RecommendationController;
+import ru.practicum.stats.analyzer.dal.repository.UserActionRepository;
+import ru.practicum.stats.analyzer.dal.service.InteractionScores;
+import ru.practicum.stats.analyzer.dal.service.RecommendationCache;
+import ru.practicum.stats.analyzer.dal.service.SimilarityIndex;
+
+import java.util.List;
+
+/**
+ * Стартовая фаза до приёма трафика: загрузка индекса сходства и сумм взаимодействий,
+ * прогон обработчиков RPC на пользователях с последними действиями и только затем статус UP в Eureka.
+ * Экземпляр регистрируется со статусом STARTING (eureka.instance.initial-status), поэтому
+ * клиенты не получают его адрес, пока идёт прогрев. Выполняется раньше запуска консьюмеров.
+ */
+@Slf4j
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class AnalyzerWarmUp implements ApplicationRunner {
+    private static final int WARM_UP_RESULTS = 10;
+
+    private final SimilarityIndex similarityIndex;
+    private final InteractionScores interactionScores;
+    private final RecommendationController controller;
+    private final RecommendationCache recommendationCache;
+    private final UserActionRepository userActionRepository;
+    private final RecommendationProperties properties;
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            similarityIndex.load();
+            interactionScores.load();
+        } catch (Exception e) {
+            // Без индекса запросы идут в базу; он будет загружен при следующем обновлении
+            log.error("Не удалось загрузить индекс рекомендаций при старте", e);
+        }
+
+        if (properties.getWarmUp().isEnabled()) {
+            try {
+                warmUpHandlers();
+            } catch (Exception e) {
+                log.warn("Прогрев обработчиков RPC прерван: {}", e.getMessage());
+            }
+        }
+
+        ApplicationInfoManager manager = applicationInfoManager.getIfAvailable();
+        if (manager != null) {
+            manager.setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+            log.info("Анализатор готов, статус в Eureka: UP");
+        }
+    }
+
+    private void warmUpHandlers() {
+        RecommendationProperties.WarmUpSpec spec = properties.getWarmUp();
+        long started = System.currentTimeMillis();
+        long deadline = started + spec.getTimeout().toMillis();
+
+        List<Long> users = userActionRepository.findRecentUserIds(spec.getSampleUsers());
+        if (users.isEmpty()) {
+            log.info("Прогрев пропущен: в базе нет действий пользователей");
+            return;
+        }
+
+        int calls = 0;
+        for (int i = 0; i < spec.getIterations() && System.currentTimeMillis() < deadline; i++) {
+            long userId = users.get(i % users.size());
+            List<Long> events = userActionRepository.findEventIdsByUserId(userId).stream()
+                    .limit(WARM_UP_RESULTS)
+                    .toList();
+
+            // Сбрасываем кэш, чтобы каждый вызов проходил весь путь вычисления
+            recommendationCache.invalidateUser(userId);
+            controller.getRecommendationsForUser(UserPredictionsRequestProto.newBuilder()
+                    .setUserId(userId)
+                    .setMaxResults(WARM_UP_RESULTS)
+                    .build(), new DiscardingObserver());
+            calls++;
+
+            if (!events.isEmpty()) {
+                controller.getSimilarEvents(SimilarEventsRequestProto.newBuilder()
+                        .setEventId(events.get(0))
+                        .setUserId(userId)
+                        .setMaxResults(WARM_UP_RESULTS)
+                        .build(), new DiscardingObserver());
+                controller.getInteractionsCount(InteractionsCountRequestProto.newBuilder()
+                        .addAllEventId(events)
+                        .build(), new DiscardingObserver());
+                calls += 2;
+            }
+            recommendationCache.invalidateUser(userId);
+        }
+
+        log.info("Прогрев обработчиков RPC: {} вызовов на {} пользователях за {} мс",
+                calls, users.size(), System.currentTimeMillis() - started);
+    }
+
+    private static final class DiscardingObserver implements StreamObserver<RecommendedEventProto> {
+        @Override
+        public void onNext(RecommendedEventProto value) {
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            log.debug("Ошибка при прогреве обработчика RPC: {}", throwable.getMessage());
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package ru.practicum.stats.analyzer.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RecordDeserializationException;
+import org.apache.kafka.common.errors.WakeupException;
+import ru.practicum.stats.analyzer.config.KafkaConfig;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Поток с собственным KafkaConsumer. Воркеры одной группы делят партиции топика между собой;
+ * каждый фиксирует смещения своих партиций не чаще commitInterval, а при отзыве партиций
+ * и остановке — синхронно, чтобы новый владелец партиции не обрабатывал записи повторно.
+ * Упавшие записи уходят в RetryLane и не задерживают остальные; смещение партиции фиксируется
+ * не дальше самой ранней записи в повторах, а при переполнении полосы чтение приостанавливается.
+ */
+@Slf4j
+public class ConsumerWorker<K, V> implements Runnable {
+    private final String name;
+    private final String topic;
+    private final KafkaConsumer<K, V> consumer;
+    private final RecordHandler<K, V> handler;
+    private final Duration pollTimeout;
+    private final long commitIntervalMs;
+    private final RetryLane<K, V> retryLane;
+    private final int maxInFlight;
+    private final Duration deadLetterBackoff;
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    // Следующее смещение после последней прочитанной записи; держится до полной фиксации
+    private final Map<TopicPartition, Long> pendingOffsets = new HashMap<>();
+    private boolean paused;
+    private long lastCommitAt = System.currentTimeMillis();
+
+    public ConsumerWorker(String name, String topic, KafkaConfig.ConsumerProperties config, RecordHandler<K, V> handler) {
+        Properties properties = new Properties();
+        properties.putAll(config.getProperties());
+        properties.setProperty("enable.auto.commit", "false");
+        String clientId = properties.getProperty("client.id", "analyzer");
+        properties.setProperty("client.id", clientId + "-" + name);
+
+        this.name = name;
+        this.topic = topic;
+        this.consumer = new KafkaConsumer<>(properties);
+        this.handler = handler;
+        this.pollTimeout = config.getPollTimeout();
+        this.commitIntervalMs = config.getCommitInterval().toMillis();
+        this.retryLane = new RetryLane<>(name, handler,
+                new DeadLetterPublisher<>(clientId + "-" + name + "-dlt", config.getDeadLetter()), config.getRetry());
+        this.maxInFlight = config.getRetry().getMaxInFlight();
+        this.deadLetterBackoff = config.getRetry().getInitialBackoff();
+    }
+
+    @Override
+    public void run() {
+        log.info("Воркер {} запущен для топика {}", name, topic);
+        try {
+            consumer.subscribe(List.of(topic), new RebalanceListener());
+            while (running.get()) {
+                ConsumerRecords<K, V> records;
+                try {
+                    records = consumer.poll(pollTimeout);
+                } catch (RecordDeserializationException e) {
+                    skipUndeserializable(e);
+                    continue;
+                }
+
+                for (ConsumerRecord<K, V> record : records) {
+                    try {
+                        handler.handle(record);
+                    } catch (Exception e) {
+                        retryLane.submit(record, e);
+                    }
+                    pendingOffsets.put(new TopicPartition(record.topic(), record.partition()), record.offset() + 1);
+                }
+
+                applyBackpressure();
+                commitIfDue();
+            }
+        } catch (WakeupException e) {
+            if (running.get()) {
+                log.warn("Неожиданный WakeupException в воркере {}", name, e);
+            }
+        } catch (Exception e) {
+            log.error("Воркер {} остановлен из-за ошибки", name, e);
+        } finally {
+            try {
+                retryLane.close();
+                commitPending();
+            } finally {
+                log.info("Воркер {}: закрываем консьюмер", name);
+                consumer.close(Duration.ofSeconds(5));
+            }
+        }
+    }
+
+    public void stop() {
+        running.set(false);
+        consumer.wakeup();
+    }
+
+    private void skipUndeserializable(RecordDeserializationException e) throws InterruptedException {
+        TopicPartition partition = e.topicPartition();
+        try {
+            retryLane.deadLetterUndeserializable(partition, e.offset(), e);
+        } catch (Exception publishError) {
+            // Без подтверждения dead-letter топика запись не пропускаем: позиция не сдвигается,
+            // и следующий poll() снова выбросит исключение на этой же записи
+            log.error("Воркер {}: не удалось отправить offset={} партиции {} в dead-letter, повторим через {}",
+                    name, e.offset(), partition, deadLetterBackoff, publishError);
+            Thread.sleep(deadLetterBackoff.toMillis());
+            return;
+        }
+        consumer.seek(partition, e.offset() + 1);
+        pendingOffsets.put(partition, e.offset() + 1);
+    }
+
+    private void applyBackpressure() {
+        int inFlight = retryLane.inFlightCount();
+        if (inFlight >= maxInFlight) {
+            // Назначение могло смениться после ребаланса, поэтому пауза ставится на все текущие партиции
+            consumer.pause(consumer.assignment());
+            if (!paused) {
+                log.warn("Воркер {}: в повторах {} записей, чтение приостановлено", name, inFlight);
+                paused = true;
+            }
+        } else if (paused && inFlight < maxInFlight / 2) {
+            consumer.resume(consumer.paused());
+            log.info("Воркер {}: в повторах {} записей, чтение возобновлено", name, inFlight);
+            paused = false;
+        }
+    }
+
+    private void commitIfDue() {
+        long now = System.currentTimeMillis();
+        if (pendingOffsets.isEmpty() || now - lastCommitAt < commitIntervalMs) {
+            return;
+        }
+        Map<TopicPartition, OffsetAndMetadata> offsets = committableOffsets();
+        if (!offsets.isEmpty()) {
+            consumer.commitAsync(offsets, (committed, exception) -> {
+                if (exception != null) {
+                    log.warn("Воркер {}: не удалось зафиксировать смещения {}", name, committed, exception);
+                }
+            });
+        }
+        lastCommitAt = now;
+    }
+
+    private void commitPending() {
+        Map<TopicPartition, OffsetAndMetadata> offsets = committableOffsets();
+        if (offsets.isEmpty()) {
+            return;
+        }
+        try {
+            consumer.commitSync(offsets);
+            log.debug("Воркер {}: зафиксированы смещения {}", name, offsets);
+        } catch (Exception e) {
+            log.error("Воркер {}: не удалось синхронно зафиксировать смещения {}", name, offsets, e);
+        }
+    }
+
+    /**
+     * Смещения, которые можно фиксировать: не дальше самой ранней записи в повторах.
+     * Партиция уходит из pendingOffsets, когда её смещение зафиксировано полностью.
+     */
+    private Map<TopicPartition, OffsetAndMetadata> committableOffsets() {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        Iterator<Map.Entry<TopicPartition, Long>> iterator = pendingOffsets.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<TopicPartition, Long> entry = iterator.next();
+            TopicPartition partition = entry.getKey();
+            Long lowestInFlight = retryLane.lowestInFlight(partition);
+            long offset = lowestInFlight == null ? entry.getValue() : Math.min(entry.getValue(), lowestInFlight);
+
+            offsets.put(partition, new OffsetAndMetadata(offset));
+            if (offset == entry.getValue()) {
+                iterator.remove();
+            }
+        }
+        return offsets;
+    }
+
+    private void forget(Collection<TopicPartition> partitions) {
+        retryLane.forget(partitions);
+        partitions.forEach(pendingOffsets::remove);
+    }
+
+    @FunctionalInterface
+    public interface RecordHandler<K, V> {
+        void handle(ConsumerRecord<K, V> record) throws Exception;
+    }
+
+    // Вызывается из poll() на потоке воркера, поэтому pendingOffsets не нуждается в синхронизации
+    private class RebalanceListener implements ConsumerRebalanceListener {
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            log.info("Воркер {}: отозваны партиции {}", name, partitions);
+            commitPending();
+            forget(partitions);
+        }
+
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            log.info("Воркер {}: назначены партиции {}", name, partitions);
+        }
+
+        @Override
+        public void onPartitionsLost(Collection<TopicPartition> partitions) {
+            // Партиции уже у другого владельца: фиксировать их смещения нельзя
+            log.warn("Воркер {}: потеряны партиции {}", name, partitions);
+            forget(partitions);
+        }
+    }
+}
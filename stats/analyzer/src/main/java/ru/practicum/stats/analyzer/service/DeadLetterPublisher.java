@@ -0,0 +1,78 @@
+package ru.practicum.stats.analyzer.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Headers;
+import ru.practicum.stats.analyzer.config.KafkaConfig;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Отправляет необрабатываемые записи в dead-letter топик с исходным ключом и значением.
+ * Заголовки dlt.* хранят источник и причину, чтобы запись можно было разобрать и переиграть.
+ */
+@Slf4j
+public class DeadLetterPublisher<K, V> implements AutoCloseable {
+    private final String topic;
+    private final KafkaProducer<K, V> producer;
+
+    public DeadLetterPublisher(String clientId, KafkaConfig.DeadLetterProperties config) {
+        Properties properties = new Properties();
+        properties.putAll(config.getProducerProperties());
+        properties.setProperty("client.id", clientId);
+
+        this.topic = config.getTopic();
+        this.producer = new KafkaProducer<>(properties);
+    }
+
+    /**
+     * Синхронно публикует запись: смещение исходной записи можно фиксировать только после подтверждения.
+     */
+    public void publish(ConsumerRecord<K, V> record, Throwable error, int attempts) throws Exception {
+        ProducerRecord<K, V> deadLetter = new ProducerRecord<>(topic, record.key(), record.value());
+        addHeaders(deadLetter.headers(), new TopicPartition(record.topic(), record.partition()),
+                record.offset(), error, attempts);
+        send(deadLetter);
+    }
+
+    /**
+     * Запись, которую не удалось десериализовать: значения нет, в топик уходят только заголовки.
+     */
+    public void publishUndeserializable(TopicPartition partition, long offset, Throwable error) throws Exception {
+        ProducerRecord<K, V> deadLetter = new ProducerRecord<>(topic, null, null);
+        addHeaders(deadLetter.headers(), partition, offset, error, 1);
+        send(deadLetter);
+    }
+
+    @Override
+    public void close() {
+        producer.close(Duration.ofSeconds(5));
+    }
+
+    private void send(ProducerRecord<K, V> deadLetter) throws Exception {
+        try {
+            producer.send(deadLetter).get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    private static void addHeaders(Headers headers, TopicPartition partition, long offset, Throwable error, int attempts) {
+        header(headers, "dlt.original-topic", partition.topic());
+        header(headers, "dlt.original-partition", String.valueOf(partition.partition()));
+        header(headers, "dlt.original-offset", String.valueOf(offset));
+        header(headers, "dlt.attempts", String.valueOf(attempts));
+        header(headers, "dlt.exception", error.getClass().getName());
+        header(headers, "dlt.message", String.valueOf(error.getMessage()));
+    }
+
+    private static void header(Headers headers, String key, String value) {
+        headers.add(key, value.getBytes(StandardCharsets.UTF_8));
+    }
+}
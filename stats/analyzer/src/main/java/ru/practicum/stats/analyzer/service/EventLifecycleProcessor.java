@@ -0,0 +1,32 @@
+package ru.practicum.stats.analyzer.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.specific.SpecificRecordBase;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.stats.avro.EventLifecycleAvro;
+import ru.practicum.stats.analyzer.dal.service.EventArchiveService;
+
+/**
+ * Обработка записей топика жизненного цикла: прошедшие и отменённые события уходят в архив.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class EventLifecycleProcessor implements ConsumerWorker.RecordHandler<Long, SpecificRecordBase> {
+    private final EventArchiveService eventArchiveService;
+
+    @Override
+    public void handle(ConsumerRecord<Long, SpecificRecordBase> record) {
+        log.debug("Received event-lifecycle record: topic={}, partition={}, offset={}, key={}",
+                record.topic(), record.partition(), record.offset(), record.key());
+
+        if (!(record.value() instanceof EventLifecycleAvro lifecycle)) {
+            throw new IllegalArgumentException(
+                    String.format("Unexpected record type: %s. Expected: EventLifecycleAvro",
+                            record.value().getClass().getName()));
+        }
+        eventArchiveService.archiveEvent(lifecycle.getEventId());
+    }
+}
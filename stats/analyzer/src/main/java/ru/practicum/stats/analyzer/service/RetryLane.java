@@ -0,0 +1,175 @@
+package ru.practicum.stats.analyzer.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import ru.practicum.stats.analyzer.config.KafkaConfig;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Полоса повторов воркера: упавшие записи повторяются на отдельном потоке с экспоненциальной задержкой,
+ * а после maxAttempts уходят в dead-letter топик. Воркер тем временем читает партицию дальше
+ * и фиксирует смещения не выше самой ранней записи, которая ещё в повторах.
+ * Повтор может идти одновременно с основным циклом по тому же ключу. Обработчики к этому готовы:
+ * действие пишется upsert'ом по уникальной паре (user_id, event_id) под блокировкой строки с выбором
+ * по весу, сходство — upsert'ом с проверкой метки времени.
+ */
+@Slf4j
+public class RetryLane<K, V> implements AutoCloseable {
+    private final String name;
+    private final ConsumerWorker.RecordHandler<K, V> handler;
+    private final DeadLetterPublisher<K, V> deadLetters;
+    private final KafkaConfig.RetryProperties config;
+    private final ScheduledExecutorService executor;
+    private final Map<TopicPartition, NavigableSet<Long>> inFlight = new ConcurrentHashMap<>();
+
+    public RetryLane(String name, ConsumerWorker.RecordHandler<K, V> handler,
+                     DeadLetterPublisher<K, V> deadLetters, KafkaConfig.RetryProperties config) {
+        this.name = name;
+        this.handler = handler;
+        this.deadLetters = deadLetters;
+        this.config = config;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Принимает запись после первой неудачной попытки.
+     */
+    public void submit(ConsumerRecord<K, V> record, Exception error) {
+        TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+        inFlight.computeIfAbsent(partition, p -> new ConcurrentSkipListSet<>()).add(record.offset());
+
+        if (config.getMaxAttempts() <= 1) {
+            executor.execute(() -> deadLetter(partition, record, error, 1));
+            return;
+        }
+        log.warn("Воркер {}: запись topic={}, partition={}, offset={} отправлена на повтор: {}",
+                name, record.topic(), record.partition(), record.offset(), error.getMessage());
+        schedule(partition, record, 2);
+    }
+
+    /**
+     * Самое раннее смещение партиции, которое ещё в повторах, или null.
+     */
+    public Long lowestInFlight(TopicPartition partition) {
+        NavigableSet<Long> offsets = inFlight.get(partition);
+        if (offsets == null) {
+            return null;
+        }
+        try {
+            return offsets.first();
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.values().stream().mapToInt(NavigableSet::size).sum();
+    }
+
+    /**
+     * Партиции ушли к другому владельцу: он прочитает незафиксированные записи заново,
+     * поэтому их повторы здесь прекращаются.
+     */
+    public void forget(Collection<TopicPartition> partitions) {
+        for (TopicPartition partition : partitions) {
+            inFlight.remove(partition);
+        }
+    }
+
+    /**
+     * Запись, которую не удалось даже десериализовать, сразу уходит в dead-letter топик.
+     */
+    public void deadLetterUndeserializable(TopicPartition partition, long offset, Exception error) throws Exception {
+        log.error("Воркер {}: не удалось десериализовать запись topic={}, partition={}, offset={}",
+                name, partition.topic(), partition.partition(), offset, error);
+        deadLetters.publishUndeserializable(partition, offset, error);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Воркер {}: поток повторов не остановился вовремя", name);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            deadLetters.close();
+        }
+    }
+
+    private void schedule(TopicPartition partition, ConsumerRecord<K, V> record, int attempt) {
+        executor.schedule(() -> retry(partition, record, attempt), backoffMs(attempt - 1), TimeUnit.MILLISECONDS);
+    }
+
+    private void retry(TopicPartition partition, ConsumerRecord<K, V> record, int attempt) {
+        if (!isInFlight(partition, record.offset())) {
+            return;
+        }
+        try {
+            handler.handle(record);
+            log.info("Воркер {}: запись topic={}, partition={}, offset={} обработана с попытки {}",
+                    name, record.topic(), record.partition(), record.offset(), attempt);
+            done(partition, record.offset());
+        } catch (Exception e) {
+            if (attempt >= config.getMaxAttempts()) {
+                deadLetter(partition, record, e, attempt);
+            } else {
+                log.warn("Воркер {}: попытка {} для offset={} не удалась: {}",
+                        name, attempt, record.offset(), e.getMessage());
+                schedule(partition, record, attempt + 1);
+            }
+        }
+    }
+
+    private void deadLetter(TopicPartition partition, ConsumerRecord<K, V> record, Exception error, int attempts) {
+        if (!isInFlight(partition, record.offset())) {
+            return;
+        }
+        try {
+            deadLetters.publish(record, error, attempts);
+            log.error("Воркер {}: запись topic={}, partition={}, offset={}, key={} отправлена в dead-letter после {} попыток",
+                    name, record.topic(), record.partition(), record.offset(), record.key(), attempts, error);
+            done(partition, record.offset());
+        } catch (Exception e) {
+            // Смещение остаётся незафиксированным, пока запись не попадёт в dead-letter топик
+            log.error("Воркер {}: не удалось отправить offset={} в dead-letter, повторим позже",
+                    name, record.offset(), e);
+            executor.schedule(() -> deadLetter(partition, record, error, attempts),
+                    config.getMaxBackoff().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private boolean isInFlight(TopicPartition partition, long offset) {
+        NavigableSet<Long> offsets = inFlight.get(partition);
+        return offsets != null && offsets.contains(offset);
+    }
+
+    private void done(TopicPartition partition, long offset) {
+        NavigableSet<Long> offsets = inFlight.get(partition);
+        if (offsets != null) {
+            offsets.remove(offset);
+        }
+    }
+
+    private long backoffMs(int retry) {
+        long initial = config.getInitialBackoff().toMillis();
+        long delay = initial << Math.min(retry - 1, 20);
+        return Math.min(delay, config.getMaxBackoff().toMillis());
+    }
+}
@@ -0,0 +1,31 @@
+-- Схема могла быть создана Hibernate (ddl-auto: update), поэтому объекты создаются через IF NOT EXISTS
+CREATE TABLE IF NOT EXISTS user_actions
+(
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id     BIGINT                      NOT NULL,
+    event_id    BIGINT                      NOT NULL,
+    action_type VARCHAR(255)                NOT NULL,
+    timestamp   TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS event_similarities
+(
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_a   BIGINT                      NOT NULL,
+    event_b   BIGINT                      NOT NULL,
+    score     DOUBLE PRECISION            NOT NULL,
+    timestamp TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+-- Поиск действия пользователя по событию при сохранении нового действия
+CREATE INDEX IF NOT EXISTS idx_user_actions_user_event ON user_actions (user_id, event_id);
+
+-- Последние действия пользователя для рекомендаций
+CREATE INDEX IF NOT EXISTS idx_user_actions_user_timestamp ON user_actions (user_id, timestamp DESC);
+
+-- Суммарный вес взаимодействий по событиям
+CREATE INDEX IF NOT EXISTS idx_user_actions_event ON user_actions (event_id);
+
+-- Сходство хранится парой (event_a, event_b), событие ищется в обоих столбцах
+CREATE INDEX IF NOT EXISTS idx_event_similarities_event_a ON event_similarities (event_a);
+CREATE INDEX IF NOT EXISTS idx_event_similarities_event_b ON event_similarities (event_b);
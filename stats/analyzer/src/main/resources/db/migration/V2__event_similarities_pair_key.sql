@@ -0,0 +1,11 @@
+-- Раньше каждое обновление сходства добавляло новую строку; оставляем по паре только самую свежую
+DELETE FROM event_similarities s
+USING event_similarities newer
+WHERE newer.event_a = s.event_a
+  AND newer.event_b = s.event_b
+  AND (newer.timestamp > s.timestamp OR (newer.timestamp = s.timestamp AND newer.id > s.id));
+
+-- Ключ пары нужен для upsert и заодно обслуживает поиск по event_a
+CREATE UNIQUE INDEX IF NOT EXISTS uq_event_similarities_pair ON event_similarities (event_a, event_b);
+
+DROP INDEX IF EXISTS idx_event_similarities_event_a;
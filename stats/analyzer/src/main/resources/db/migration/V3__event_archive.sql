@@ -0,0 +1,22 @@
+-- Данные прошедших и отменённых событий переносятся сюда из рабочих таблиц
+CREATE TABLE IF NOT EXISTS user_actions_archive
+(
+    user_id     BIGINT                      NOT NULL,
+    event_id    BIGINT                      NOT NULL,
+    action_type VARCHAR(255)                NOT NULL,
+    timestamp   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    archived_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS event_similarities_archive
+(
+    event_a     BIGINT                      NOT NULL,
+    event_b     BIGINT                      NOT NULL,
+    score       DOUBLE PRECISION            NOT NULL,
+    timestamp   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    archived_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+-- Очистка архива по давности
+CREATE INDEX IF NOT EXISTS idx_user_actions_archive_archived_at ON user_actions_archive (archived_at);
+CREATE INDEX IF NOT EXISTS idx_event_similarities_archive_archived_at ON event_similarities_archive (archived_at);
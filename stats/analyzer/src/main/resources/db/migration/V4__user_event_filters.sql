@@ -0,0 +1,7 @@
+-- Фильтр Блума событий, с которыми взаимодействовал пользователь: одна строка фиксированного размера на пользователя
+CREATE TABLE IF NOT EXISTS user_event_filters
+(
+    user_id BIGINT  NOT NULL PRIMARY KEY,
+    bits    BYTEA   NOT NULL,
+    events  INTEGER NOT NULL
+);
@@ -0,0 +1,11 @@
+-- Одна строка на пару (user_id, event_id): повтор записи и основной цикл консьюмера могли вставить дубли
+DELETE FROM user_actions a
+    USING user_actions b
+WHERE a.user_id = b.user_id
+  AND a.event_id = b.event_id
+  AND a.id < b.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_user_actions_user_event ON user_actions (user_id, event_id);
+
+-- Уникальный индекс заменяет обычный по тем же столбцам
+DROP INDEX IF EXISTS idx_user_actions_user_event;
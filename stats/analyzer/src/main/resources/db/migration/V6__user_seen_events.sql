@@ -0,0 +1,10 @@
+-- Пары, действия по которым удалены очисткой затухших данных: вес уже не учитывается,
+-- но событие по-прежнему считается просмотренным и не попадает в рекомендации
+CREATE TABLE IF NOT EXISTS user_seen_events
+(
+    user_id  BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, event_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_seen_events_event ON user_seen_events (event_id);
@@ -0,0 +1,34 @@
+package stats.collector.controller;
+
+import com.google.protobuf.Empty;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import net.devh.boot.grpc.server.service.GrpcService;
+import ru.practicum.ewm.stats.proto.EventLifecycleControllerGrpc;
+import ru.practicum.ewm.stats.proto.EventLifecycleProto;
+import stats.collector.service.EventLifecycleService;
+
+@GrpcService
+@RequiredArgsConstructor
+public class EventLifecycleController extends EventLifecycleControllerGrpc.EventLifecycleControllerImplBase {
+    private final EventLifecycleService eventLifecycleService;
+
+    @Override
+    public void collectEventLifecycle(EventLifecycleProto eventLifecycleProto, StreamObserver<Empty> responseObserver) {
+        try {
+            eventLifecycleService.processEventLifecycle(eventLifecycleProto);
+            responseObserver.onNext(Empty.getDefaultInstance());
+            responseObserver.onCompleted();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            responseObserver.onError(new StatusRuntimeException(Status.CANCELLED
+                    .withDescription("Interrupted while processing event lifecycle")));
+        } catch (Exception e) {
+            responseObserver.onError(new StatusRuntimeException(Status.INTERNAL
+                    .withDescription("Error processing event lifecycle: " + e.getMessage())
+                    .withCause(e)));
+        }
+    }
+}
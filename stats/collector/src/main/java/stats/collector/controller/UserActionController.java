@@ -6,10 +6,15 @@ import io.grpc.StatusRuntimeException;
 import io.grpc.stub.StreamObserver;
 import lombok.RequiredArgsConstructor;
 import net.devh.boot.grpc.server.service.GrpcService;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import ru.practicum.ewm.stats.proto.UserActionControllerGrpc;
 import ru.practicum.ewm.stats.proto.UserActionProto;
 import stats.collector.service.UserActionService;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
 @GrpcService
 @RequiredArgsConstructor
 public class UserActionController extends UserActionControllerGrpc.UserActionControllerImplBase {
@@ -19,7 +24,7 @@ public class UserActionController extends UserActionControllerGrpc.UserActionCon
     @Override
     public void collectUserAction(UserActionProto userActionProto, StreamObserver<Empty> responseObserver) {
         try {
-            userActionService.processUserAction(userActionProto);
+            userActionService.processUserAction(userActionProto).get();
             responseObserver.onNext(Empty.getDefaultInstance());
             responseObserver.onCompleted();
         } catch (Exception e) {
@@ -28,4 +33,55 @@ public class UserActionController extends UserActionControllerGrpc.UserActionCon
                     .withCause(e)));
         }
     }
+
+    @Override
+    public StreamObserver<UserActionProto> collectUserActions(StreamObserver<Empty> responseObserver) {
+        return new StreamObserver<>() {
+            private boolean failed;
+            // Подтверждение клиенту — только после того, как брокер принял все записи потока
+            private final List<Future<RecordMetadata>> pending = new ArrayList<>();
+
+            @Override
+            public void onNext(UserActionProto userActionProto) {
+                if (failed) {
+                    return;
+                }
+                try {
+                    pending.add(userActionService.processUserAction(userActionProto));
+                } catch (Exception e) {
+                    fail(e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                // Клиент оборвал поток: уже принятые действия отправлены, ответ не нужен
+            }
+
+            @Override
+            public void onCompleted() {
+                if (failed) {
+                    return;
+                }
+                try {
+                    for (Future<RecordMetadata> future : pending) {
+                        future.get();
+                    }
+                } catch (Exception e) {
+                    fail(e);
+                    return;
+                }
+                responseObserver.onNext(Empty.getDefaultInstance());
+                responseObserver.onCompleted();
+            }
+
+            private void fail(Exception e) {
+                failed = true;
+                pending.clear();
+                responseObserver.onError(new StatusRuntimeException(Status.INTERNAL
+                        .withDescription("Error processing user action: " + e.getMessage())
+                        .withCause(e)));
+            }
+        };
+    }
 }
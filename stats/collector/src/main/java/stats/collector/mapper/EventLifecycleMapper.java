@@ -0,0 +1,25 @@
+package stats.collector.mapper;
+
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.stats.avro.EventLifecycleAvro;
+import ru.practicum.ewm.stats.avro.EventLifecycleStateAvro;
+import ru.practicum.ewm.stats.proto.EventLifecycleProto;
+
+import java.time.Instant;
+
+@Component
+public class EventLifecycleMapper {
+    public EventLifecycleAvro toAvro(EventLifecycleProto proto) {
+        Instant instant = Instant.ofEpochSecond(
+                proto.getTimestamp().getSeconds(),
+                proto.getTimestamp().getNanos()
+        );
+        String avroStateName = proto.getState().name().replace("EVENT_", "");
+
+        return EventLifecycleAvro.newBuilder()
+                .setEventId(proto.getEventId())
+                .setState(EventLifecycleStateAvro.valueOf(avroStateName))
+                .setTimestamp(instant)
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package stats.collector.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ru.practicum.ewm.stats.proto.EventLifecycleProto;
+import stats.collector.mapper.EventLifecycleMapper;
+
+import java.util.concurrent.ExecutionException;
+
+@Service
+@RequiredArgsConstructor
+public class EventLifecycleService {
+    private final EventLifecycleMapper mapper;
+    private final KafkaEventLifecycleProducer kafkaProducer;
+
+    public void processEventLifecycle(EventLifecycleProto proto) throws ExecutionException, InterruptedException {
+        kafkaProducer.send(mapper.toAvro(proto));
+    }
+}
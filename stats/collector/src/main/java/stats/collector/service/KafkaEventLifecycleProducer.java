@@ -0,0 +1,46 @@
+package stats.collector.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.specific.SpecificRecordBase;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.stats.avro.EventLifecycleAvro;
+import stats.collector.config.KafkaConfig;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+
+@Slf4j
+@Component
+public class KafkaEventLifecycleProducer implements AutoCloseable {
+
+    private final KafkaProducer<Long, SpecificRecordBase> producer;
+    private final String topic;
+
+    public KafkaEventLifecycleProducer(KafkaConfig kafkaConfig) {
+        this.topic = kafkaConfig.getProducer().getTopics().get("event-lifecycle");
+        this.producer = new KafkaProducer<>(kafkaConfig.getProducer().getProperties());
+    }
+
+    /**
+     * Ждёт подтверждения брокера: event-service отмечает событие отправленным только после успешного ответа.
+     */
+    public void send(EventLifecycleAvro lifecycle) throws ExecutionException, InterruptedException {
+        ProducerRecord<Long, SpecificRecordBase> record = new ProducerRecord<>(
+                topic,
+                null,
+                lifecycle.getTimestamp().toEpochMilli(),
+                lifecycle.getEventId(),
+                lifecycle
+        );
+
+        log.debug("Отправляю событие жизненного цикла {} в топик {}", lifecycle, topic);
+        producer.send(record).get();
+    }
+
+    public void close() {
+        producer.flush();
+        producer.close(Duration.ofSeconds(10));
+    }
+}
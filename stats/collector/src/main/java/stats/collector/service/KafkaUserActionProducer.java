@@ -4,12 +4,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.specific.SpecificRecordBase;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.springframework.stereotype.Component;
 import ru.practicum.ewm.stats.avro.UserActionAvro;
 import stats.collector.config.KafkaConfig;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.Future;
 
 @Slf4j
 @Component
@@ -23,7 +25,11 @@ public class KafkaUserActionProducer implements AutoCloseable {
         this.producer = new KafkaProducer<>(kafkaConfig.getProducer().getProperties());
     }
 
-    public void send(SpecificRecordBase userAction, Instant timeStamp) {
+    /**
+     * Возвращает подтверждение брокера: ответ клиенту отправляется только после него,
+     * иначе outbox регистраций удалит записи, которые ещё не дошли до Kafka.
+     */
+    public Future<RecordMetadata> send(SpecificRecordBase userAction, Instant timeStamp) {
 
         Long key = ((UserActionAvro) userAction).getUserId();
         ProducerRecord<Long, SpecificRecordBase> record = new ProducerRecord<>(
@@ -38,7 +44,7 @@ public class KafkaUserActionProducer implements AutoCloseable {
                 key, topic);
 
         log.info("<== Json: {}", userAction);
-        producer.send(record);
+        return producer.send(record);
     }
 
     public void close() {
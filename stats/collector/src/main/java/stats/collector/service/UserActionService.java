@@ -1,11 +1,13 @@
 package stats.collector.service;
 
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.springframework.stereotype.Service;
 import ru.practicum.ewm.stats.avro.UserActionAvro;
 import ru.practicum.ewm.stats.proto.UserActionProto;
 import stats.collector.mapper.UserActionMapper;
 
 import java.time.Instant;
+import java.util.concurrent.Future;
 
 @Service
 public class UserActionService {
@@ -17,12 +19,12 @@ public class UserActionService {
         this.kafkaProducer = kafkaProducer;
     }
 
-    public void processUserAction(UserActionProto userActionProto) {
+    public Future<RecordMetadata> processUserAction(UserActionProto userActionProto) {
         UserActionAvro userActionAvro = mapper.toAvro(userActionProto);
         Instant instant = Instant.ofEpochSecond(
                 userActionProto.getTimestamp().getSeconds(),
                 userActionProto.getTimestamp().getNanos()
         );
-        kafkaProducer.send(userActionAvro, instant);
+        return kafkaProducer.send(userActionAvro, instant);
     }
 }
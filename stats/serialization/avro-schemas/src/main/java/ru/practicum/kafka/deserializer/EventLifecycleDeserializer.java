@@ -0,0 +1,9 @@
+package ru.practicum.kafka.deserializer;
+
+import ru.practicum.ewm.stats.avro.EventLifecycleAvro;
+
+public class EventLifecycleDeserializer extends BaseAvroDeserializer<EventLifecycleAvro> {
+    public EventLifecycleDeserializer() {
+        super(EventLifecycleAvro.getClassSchema());
+    }
+}
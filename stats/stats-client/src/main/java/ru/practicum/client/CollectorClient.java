@@ -1,19 +1,37 @@
 package ru.practicum.client;
 
+import com.google.protobuf.Empty;
 import com.google.protobuf.Timestamp;
+import io.grpc.stub.StreamObserver;
 import net.devh.boot.grpc.client.inject.GrpcClient;
 import org.springframework.stereotype.Component;
 import ru.practicum.ewm.stats.proto.ActionTypeProto;
+import ru.practicum.ewm.stats.proto.EventLifecycleControllerGrpc;
+import ru.practicum.ewm.stats.proto.EventLifecycleProto;
+import ru.practicum.ewm.stats.proto.EventLifecycleStateProto;
 import ru.practicum.ewm.stats.proto.UserActionControllerGrpc;
 import ru.practicum.ewm.stats.proto.UserActionProto;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class CollectorClient {
+    private static final long BATCH_DEADLINE_SECONDS = 10;
+    private static final long LIFECYCLE_DEADLINE_SECONDS = 5;
+
     @GrpcClient("collector")
     private static UserActionControllerGrpc.UserActionControllerBlockingStub actionClient;
 
+    @GrpcClient("collector")
+    private static UserActionControllerGrpc.UserActionControllerStub actionStreamClient;
+
+    @GrpcClient("collector")
+    private static EventLifecycleControllerGrpc.EventLifecycleControllerBlockingStub lifecycleClient;
+
     public void saveView(long userId, long eventId) {
         saveUserInteraction(userId, eventId, ActionTypeProto.ACTION_VIEW);
     }
@@ -22,24 +40,91 @@ public class CollectorClient {
         saveUserInteraction(userId, eventId, ActionTypeProto.ACTION_REGISTER);
     }
 
+    /**
+     * Отправляет регистрации одним клиентским потоком и ждёт подтверждения коллектора.
+     * Время действия — время создания заявки, а не отправки: доставка после сбоя не делает регистрацию свежей.
+     */
+    public void saveRegisters(List<Registration> registrations) {
+        if (registrations.isEmpty()) {
+            return;
+        }
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        StreamObserver<UserActionProto> stream = actionStreamClient
+                .withDeadlineAfter(BATCH_DEADLINE_SECONDS, TimeUnit.SECONDS)
+                .collectUserActions(new StreamObserver<>() {
+                    @Override
+                    public void onNext(Empty empty) {
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        done.completeExceptionally(throwable);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        done.complete(null);
+                    }
+                });
+
+        for (Registration registration : registrations) {
+            stream.onNext(toProto(registration.userId(), registration.eventId(), ActionTypeProto.ACTION_REGISTER,
+                    registration.createdAt()));
+        }
+        stream.onCompleted();
+
+        try {
+            done.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        }
+    }
+
     public void saveLike(long userId, long eventId) {
         saveUserInteraction(userId, eventId, ActionTypeProto.ACTION_LIKE);
     }
 
+    /**
+     * Событие прошло или отменено: статистика по нему больше не нужна рекомендациям.
+     */
+    public void saveEventFinished(long eventId, Instant finishedAt) {
+        saveEventLifecycle(eventId, EventLifecycleStateProto.EVENT_FINISHED, finishedAt);
+    }
+
+    public void saveEventCanceled(long eventId, Instant canceledAt) {
+        saveEventLifecycle(eventId, EventLifecycleStateProto.EVENT_CANCELED, canceledAt);
+    }
+
+    private void saveEventLifecycle(long eventId, EventLifecycleStateProto state, Instant at) {
+        lifecycleClient.withDeadlineAfter(LIFECYCLE_DEADLINE_SECONDS, TimeUnit.SECONDS)
+                .collectEventLifecycle(EventLifecycleProto.newBuilder()
+                        .setEventId(eventId)
+                        .setState(state)
+                        .setTimestamp(toTimestamp(at))
+                        .build());
+    }
+
     private void saveUserInteraction(long userId, long eventId, ActionTypeProto actionType) {
-        Instant now = Instant.now();
-        Timestamp timestamp = Timestamp.newBuilder()
-                .setSeconds(now.getEpochSecond())
-                .setNanos(now.getNano())
-                .build();
+        actionClient.collectUserAction(toProto(userId, eventId, actionType, Instant.now()));
+    }
 
-        UserActionProto userActionProto = UserActionProto.newBuilder()
+    private UserActionProto toProto(long userId, long eventId, ActionTypeProto actionType, Instant timestamp) {
+        return UserActionProto.newBuilder()
                 .setUserId(userId)
                 .setEventId(eventId)
                 .setActionType(actionType)
-                .setTimestamp(timestamp)
+                .setTimestamp(toTimestamp(timestamp))
+                .build();
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return Timestamp.newBuilder()
+                .setSeconds(instant.getEpochSecond())
+                .setNanos(instant.getNano())
                 .build();
+    }
 
-        actionClient.collectUserAction(userActionProto);
+    public record Registration(long userId, long eventId, Instant createdAt) {
     }
 }